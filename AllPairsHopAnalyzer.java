@@ -0,0 +1,211 @@
+package mini_proj_dsa;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+// All-pairs hop distance statistics using multi-source BFS: each pass advances 64 sources
+// at once with one long bitset per node, and the passes are spread over a fork/join pool.
+// Small frontiers are kept as node lists, so long thin graphs do not pay a full sweep per level.
+class AllPairsHopAnalyzer {
+    private static final int BATCHES_PER_TASK = 2;
+    private static final int DENSE_DIVISOR = 16;
+
+    static class Result {
+        final long[] histogram;      // histogram[d] = ordered source/destination pairs at d hops (d >= 1)
+        final int[] eccentricity;    // greatest hop count from each node to a node it can reach
+        final long reachablePairs;
+        final long unreachablePairs;
+        final long totalHops;
+
+        Result(long[] histogram, int[] eccentricity, long reachablePairs, long unreachablePairs, long totalHops) {
+            this.histogram = histogram;
+            this.eccentricity = eccentricity;
+            this.reachablePairs = reachablePairs;
+            this.unreachablePairs = unreachablePairs;
+            this.totalHops = totalHops;
+        }
+
+        // Mean hop count over all ordered pairs of distinct nodes that can reach each other
+        public double getAverageHops() {
+            return reachablePairs == 0 ? 0.0 : totalHops / (double) reachablePairs;
+        }
+
+        // Longest shortest path between two connected nodes
+        public int getDiameter() {
+            return histogram.length - 1;
+        }
+
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        public int[] getEccentricity() {
+            return eccentricity.clone();
+        }
+
+        public long getReachablePairs() {
+            return reachablePairs;
+        }
+
+        public long getUnreachablePairs() {
+            return unreachablePairs;
+        }
+    }
+
+    public static Result analyze(CsrGraph graph) {
+        return analyze(graph, ForkJoinPool.commonPool());
+    }
+
+    public static Result analyze(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.nodeCount();
+        int[] eccentricity = new int[n];
+        int batches = (n + 63) / 64;
+        long[] histogram = batches == 0 ? new long[1] : pool.invoke(new BatchTask(graph, eccentricity, 0, batches));
+
+        int diameter = 0;
+        long reachable = 0, totalHops = 0;
+        for (int d = 1; d < histogram.length; d++) {
+            if (histogram[d] > 0) diameter = d;
+            reachable += histogram[d];
+            totalHops += d * histogram[d];
+        }
+        long unreachable = (long) n * (n - 1) - reachable;
+        return new Result(Arrays.copyOf(histogram, diameter + 1), eccentricity, reachable, unreachable, totalHops);
+    }
+
+    // Processes a range of 64-source batches, splitting until the range is small
+    private static class BatchTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CsrGraph graph;
+        private final int[] eccentricity;
+        private final int from, to;
+        // Scratch space of a leaf task: per-node source bitsets, the nodes of the frontier and
+        // the nodes a sparse level reached
+        private long[] seen, frontier, next;
+        private int[] frontierNodes, touchedNodes;
+
+        BatchTask(CsrGraph graph, int[] eccentricity, int from, int to) {
+            this.graph = graph;
+            this.eccentricity = eccentricity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= BATCHES_PER_TASK) {
+                int n = graph.nodeCount();
+                seen = new long[n];
+                frontier = new long[n];
+                next = new long[n];
+                frontierNodes = new int[n];
+                touchedNodes = new int[n];
+                long[] histogram = new long[16];
+                for (int b = from; b < to; b++) {
+                    histogram = runBatch(b * 64, Math.min(n, b * 64 + 64), histogram);
+                }
+                return histogram;
+            }
+            int mid = (from + to) >>> 1;
+            BatchTask left = new BatchTask(graph, eccentricity, from, mid);
+            left.fork();
+            long[] right = new BatchTask(graph, eccentricity, mid, to).compute();
+            return merge(left.join(), right);
+        }
+
+        // A level expands only the frontier nodes and then checks only the nodes they reached, so
+        // the many small levels at the start and end of a BFS cost nothing per untouched node.
+        // When the frontier nodes and their arcs add up to more than 1/DENSE_DIVISOR of the
+        // graph, the level sweeps all nodes instead. next[] is all zero between levels.
+        private long[] runBatch(int first, int last, long[] histogram) {
+            int[] offsets = graph.offsets();
+            int[] targets = graph.targets();
+            int n = seen.length;
+            long denseWork = ((long) n + targets.length) / DENSE_DIVISOR;
+            Arrays.fill(seen, 0L);
+            int size = 0;
+            long work = 0;
+            for (int s = first; s < last; s++) {
+                long bit = 1L << (s - first);
+                seen[s] = bit;
+                frontier[s] = bit;
+                frontierNodes[size++] = s;
+                work += 1 + offsets[s + 1] - offsets[s];
+            }
+            int depth = 0;
+            while (size > 0) {
+                int nextSize = 0;
+                long nextWork = 0;
+                long reachedThisLevel = 0;
+                long count = 0;
+                if (work > denseWork) {
+                    for (int v = 0; v < n; v++) {
+                        long bits = frontier[v];
+                        if (bits == 0) continue;
+                        for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                            next[targets[e]] |= bits;
+                        }
+                    }
+                    for (int w = 0; w < n; w++) {
+                        long fresh = next[w] & ~seen[w];
+                        frontier[w] = fresh;
+                        if (fresh != 0) {
+                            seen[w] |= fresh;
+                            reachedThisLevel |= fresh;
+                            count += Long.bitCount(fresh);
+                            frontierNodes[nextSize++] = w;
+                            nextWork += 1 + offsets[w + 1] - offsets[w];
+                        }
+                    }
+                    Arrays.fill(next, 0L);
+                } else {
+                    int touched = 0;
+                    for (int i = 0; i < size; i++) {
+                        int v = frontierNodes[i];
+                        long bits = frontier[v];
+                        frontier[v] = 0;
+                        for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                            int t = targets[e];
+                            if (next[t] == 0) touchedNodes[touched++] = t;
+                            next[t] |= bits;
+                        }
+                    }
+                    for (int i = 0; i < touched; i++) {
+                        int w = touchedNodes[i];
+                        long fresh = next[w] & ~seen[w];
+                        next[w] = 0;
+                        if (fresh != 0) {
+                            frontier[w] = fresh;
+                            seen[w] |= fresh;
+                            reachedThisLevel |= fresh;
+                            count += Long.bitCount(fresh);
+                            frontierNodes[nextSize++] = w;
+                            nextWork += 1 + offsets[w + 1] - offsets[w];
+                        }
+                    }
+                }
+                depth++;
+                size = nextSize;
+                work = nextWork;
+                if (count > 0) {
+                    if (depth >= histogram.length) histogram = Arrays.copyOf(histogram, depth * 2);
+                    histogram[depth] += count;
+                    // Sources still discovering nodes at this depth have eccentricity >= depth
+                    while (reachedThisLevel != 0) {
+                        int bit = Long.numberOfTrailingZeros(reachedThisLevel);
+                        eccentricity[first + bit] = depth;
+                        reachedThisLevel &= reachedThisLevel - 1;
+                    }
+                }
+            }
+            return histogram;
+        }
+
+        private static long[] merge(long[] a, long[] b) {
+            long[] out = Arrays.copyOf(a, Math.max(a.length, b.length));
+            for (int i = 0; i < b.length; i++) out[i] += b[i];
+            return out;
+        }
+    }
+}
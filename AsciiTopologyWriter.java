@@ -0,0 +1,221 @@
+package mini_proj_dsa;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Streams a text dump of a CSR graph, either as a weight matrix or as an adjacency list.
+// The dump can be limited to a window of rows and columns (node ids) and split into pages
+// that each repeat the matrix header. Rows are formatted straight from the sorted CSR arrays
+// into one large char buffer: a binary search finds the first arc inside the column window,
+// so a window costs O(rows * log degree + cells shown) and memory does not grow with the graph.
+// Format.AUTO lists the adjacency instead of the matrix when few cells of the window hold a link.
+class AsciiTopologyWriter {
+    enum Format { AUTO, MATRIX, LIST }
+
+    static final double SPARSE_DENSITY = 0.05; // AUTO switches to a list below this fraction of linked cells
+    private static final int BUFFER_CHARS = 1 << 20;
+
+    private final CsrGraph graph;
+    private final int[] offsets;
+    private final int[] targets;
+    private Format format = Format.AUTO;
+    private int rowFrom, rowTo, colFrom, colTo;
+    private int pageRows;
+    private Format resolved; // AUTO's choice for the current window, counted on first use
+
+    private char[] buf = new char[BUFFER_CHARS];
+    private int len;
+    private Writer out;
+
+    AsciiTopologyWriter(CsrGraph graph) {
+        this.graph = graph;
+        this.offsets = graph.offsets();
+        this.targets = graph.targets();
+        this.rowTo = graph.nodeCount();
+        this.colTo = graph.nodeCount();
+    }
+
+    AsciiTopologyWriter format(Format format) {
+        this.format = format;
+        resolved = null;
+        return this;
+    }
+
+    // Shows rows from (inclusive) to (exclusive)
+    AsciiTopologyWriter rows(int from, int to) {
+        checkRange(from, to);
+        rowFrom = from;
+        rowTo = to;
+        resolved = null;
+        return this;
+    }
+
+    // Shows columns from (inclusive) to (exclusive); in a list only neighbors in this range are shown
+    AsciiTopologyWriter columns(int from, int to) {
+        checkRange(from, to);
+        colFrom = from;
+        colTo = to;
+        resolved = null;
+        return this;
+    }
+
+    // Splits the rows into pages of this many rows; 0 keeps the whole window on one page
+    AsciiTopologyWriter pageRows(int rows) {
+        if (rows < 0) throw new IllegalArgumentException("Page size must not be negative: " + rows);
+        pageRows = rows;
+        return this;
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > graph.nodeCount() || from > to) {
+            throw new IllegalArgumentException("Window " + from + ".." + to + " is outside 0.." + graph.nodeCount());
+        }
+    }
+
+    int pageCount() {
+        int rows = rowTo - rowFrom;
+        if (pageRows == 0 || rows == 0) return 1;
+        return (rows + pageRows - 1) / pageRows;
+    }
+
+    // The format AUTO settles on, judged by the share of linked cells in the window
+    Format resolvedFormat() {
+        if (format != Format.AUTO) return format;
+        if (resolved != null) return resolved;
+        long cells = (long) (rowTo - rowFrom) * (colTo - colFrom);
+        long arcs = 0;
+        for (int u = rowFrom; u < rowTo; u++) arcs += firstArcFrom(u, colTo) - firstArcFrom(u, colFrom);
+        resolved = cells > 0 && arcs < SPARSE_DENSITY * cells ? Format.LIST : Format.MATRIX;
+        return resolved;
+    }
+
+    // Prints every page to standard output; System.out itself stays open
+    void print() throws IOException {
+        Writer console = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        write(console);
+        console.flush();
+    }
+
+    void write(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+    }
+
+    // Writes every page, with a banner before each page when there is more than one
+    void write(Writer writer) throws IOException {
+        int pages = pageCount();
+        for (int page = 0; page < pages; page++) {
+            if (page > 0) append('\n');
+            writePage(writer, page, pages > 1);
+        }
+        drain();
+        out = null;
+    }
+
+    void writePage(Writer writer, int page) throws IOException {
+        writePage(writer, page, false);
+        drain();
+        out = null;
+    }
+
+    private void writePage(Writer writer, int page, boolean banner) throws IOException {
+        if (page < 0 || page >= pageCount()) throw new IllegalArgumentException("No page " + page);
+        out = writer;
+        int first = pageRows == 0 ? rowFrom : rowFrom + page * pageRows;
+        int last = pageRows == 0 ? rowTo : Math.min(rowTo, first + pageRows);
+        if (banner) {
+            append("Page ").append(page + 1).append(" of ").append(pageCount())
+                    .append(" (rows ").append(first).append('-').append(last - 1).append(")\n");
+        }
+        if (resolvedFormat() == Format.LIST) {
+            for (int u = first; u < last; u++) listRow(u);
+        } else {
+            header();
+            for (int u = first; u < last; u++) matrixRow(u);
+        }
+    }
+
+    // Same layout as the original console matrix: "   A B C" then "A: 0 5 0 "
+    private void header() throws IOException {
+        append("  ");
+        for (int v = colFrom; v < colTo; v++) append(' ').append(graph.nameOf(v));
+        append('\n');
+    }
+
+    private void matrixRow(int u) throws IOException {
+        append(graph.nameOf(u)).append(": ");
+        int e = firstArcFrom(u, colFrom), end = offsets[u + 1];
+        for (int v = colFrom; v < colTo; v++) {
+            if (e < end && targets[e] == v) {
+                append(graph.weight(e++));
+            } else {
+                append('0');
+            }
+            append(' ');
+        }
+        append('\n');
+    }
+
+    // "A: B=5 D=2" with the neighbors inside the column window
+    private void listRow(int u) throws IOException {
+        append(graph.nameOf(u)).append(':');
+        for (int e = firstArcFrom(u, colFrom), end = offsets[u + 1]; e < end && targets[e] < colTo; e++) {
+            append(' ').append(graph.nameOf(targets[e])).append('=').append(graph.weight(e));
+        }
+        append('\n');
+    }
+
+    // First arc of u whose target is at least v; targets are sorted within each row
+    private int firstArcFrom(int u, int v) {
+        int lo = offsets[u], hi = offsets[u + 1];
+        if (v == 0 || lo == hi || targets[lo] >= v) return lo;
+        int found = Arrays.binarySearch(targets, lo, hi, v);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private AsciiTopologyWriter append(char c) throws IOException {
+        if (len == buf.length) drain();
+        buf[len++] = c;
+        return this;
+    }
+
+    private AsciiTopologyWriter append(String s) throws IOException {
+        int n = s.length();
+        if (len + n > buf.length) {
+            drain();
+            if (n > buf.length) buf = new char[n];
+        }
+        s.getChars(0, n, buf, len);
+        len += n;
+        return this;
+    }
+
+    // Formats the number in place instead of going through Integer.toString
+    private AsciiTopologyWriter append(int value) throws IOException {
+        if (len + 11 > buf.length) drain();
+        long v = value;
+        if (v < 0) {
+            buf[len++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long p = 10; p <= v; p *= 10) digits++;
+        for (int i = len + digits - 1; i >= len; i--) {
+            buf[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        len += digits;
+        return this;
+    }
+
+    private void drain() throws IOException {
+        if (len > 0) out.write(buf, 0, len);
+        len = 0;
+    }
+}
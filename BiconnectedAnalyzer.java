@@ -0,0 +1,160 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Single-pass bridge and biconnected component analysis over a CsrGraph (Network converts
+// its nodes with toCsrGraph). Runs an iterative Tarjan DFS in O(V + E), so it replaces the
+// per-node rebuild done by Network.isNetworkRobust and works on graphs with millions of links.
+class BiconnectedAnalyzer {
+
+    // A link whose failure splits the network, as node ids of the analyzed graph
+    static class Bridge {
+        final CsrGraph graph;
+        final int first;
+        final int second;
+
+        Bridge(CsrGraph graph, int first, int second) {
+            this.graph = graph;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public String toString() {
+            return graph.nameOf(first) + "-" + graph.nameOf(second);
+        }
+    }
+
+    static class Result {
+        final boolean connected;
+        final boolean robust;
+        final List<Bridge> bridges;
+        final int[] articulationPoints;
+        final int[] componentSizes;
+
+        Result(boolean connected, boolean robust, List<Bridge> bridges, int[] articulationPoints, int[] componentSizes) {
+            this.connected = connected;
+            this.robust = robust;
+            this.bridges = bridges;
+            this.articulationPoints = articulationPoints;
+            this.componentSizes = componentSizes;
+        }
+
+        // True if the remaining nodes form one connected network
+        public boolean isConnected() {
+            return connected;
+        }
+
+        // True if the network is connected and no single node failure disconnects it
+        public boolean isRobust() {
+            return robust;
+        }
+
+        public List<Bridge> getBridges() {
+            return bridges;
+        }
+
+        // Ids of the nodes whose failure splits the network, in ascending order
+        public int[] getArticulationPoints() {
+            return articulationPoints.clone();
+        }
+
+        // Number of nodes in each biconnected component (an isolated node is a component of one)
+        public int[] getComponentSizes() {
+            return componentSizes.clone();
+        }
+    }
+
+    public static Result analyze(CsrGraph graph) {
+        return analyze(graph, new BitSet());
+    }
+
+    // Analyze the network with the given node ids removed; links into removed nodes are ignored
+    public static Result analyze(CsrGraph graph, BitSet removed) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+
+        int[] disc = new int[n];      // discovery time + 1, 0 means unvisited
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] nextArc = new int[n];
+        int[] children = new int[n];
+        boolean[] cut = new boolean[n];
+        int[] callStack = new int[n];
+        int[] nodeStack = new int[n];
+        int nodeTop = 0, time = 0, trees = 0;
+        List<Bridge> bridges = new ArrayList<>();
+        int[] sizes = new int[Math.max(1, n)];
+        int componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (disc[root] != 0 || removed.get(root)) continue;
+            trees++;
+            int top = 0;
+            callStack[top++] = root;
+            nodeStack[nodeTop++] = root;
+            parent[root] = -1;
+            disc[root] = low[root] = ++time;
+            nextArc[root] = offsets[root];
+            while (top > 0) {
+                int u = callStack[top - 1];
+                if (nextArc[u] < offsets[u + 1]) {
+                    int v = targets[nextArc[u]++];
+                    if (v == parent[u] || v == u || removed.get(v)) continue;
+                    if (disc[v] == 0) {
+                        parent[v] = u;
+                        disc[v] = low[v] = ++time;
+                        nextArc[v] = offsets[v];
+                        callStack[top++] = v;
+                        nodeStack[nodeTop++] = v;
+                    } else if (disc[v] < low[u]) {
+                        low[u] = disc[v];
+                    }
+                    continue;
+                }
+                top--;
+                int p = parent[u];
+                if (p < 0) {
+                    // Whatever is left on the stack is the root alone (an isolated node)
+                    if (nodeStack[nodeTop - 1] == u) {
+                        nodeTop--;
+                        if (children[u] == 0) {
+                            if (componentCount == sizes.length) sizes = Arrays.copyOf(sizes, componentCount * 2);
+                            sizes[componentCount++] = 1;
+                        }
+                    }
+                    if (children[u] >= 2) cut[u] = true;
+                    continue;
+                }
+                children[p]++;
+                if (low[u] < low[p]) low[p] = low[u];
+                if (low[u] > disc[p]) bridges.add(new Bridge(graph, p, u));
+                if (low[u] >= disc[p]) {
+                    if (parent[p] >= 0) cut[p] = true;
+                    // Pop the block rooted at u; p stays on the stack for its other blocks
+                    int size = 1;
+                    int w;
+                    do {
+                        w = nodeStack[--nodeTop];
+                        size++;
+                    } while (w != u);
+                    if (componentCount == sizes.length) sizes = Arrays.copyOf(sizes, componentCount * 2);
+                    sizes[componentCount++] = size;
+                }
+            }
+        }
+
+        int cutCount = 0;
+        for (int u = 0; u < n; u++) {
+            if (cut[u]) cutCount++;
+        }
+        int[] articulationPoints = new int[cutCount];
+        for (int u = 0, k = 0; u < n; u++) {
+            if (cut[u]) articulationPoints[k++] = u;
+        }
+        boolean connected = trees == 1;
+        boolean robust = connected && cutCount == 0;
+        return new Result(connected, robust, bridges, articulationPoints, Arrays.copyOf(sizes, componentCount));
+    }
+}
@@ -0,0 +1,253 @@
+package mini_proj_dsa;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Round-by-round flooding broadcast from a source, over the whole graph or over a broadcast tree.
+// In each round every node that first heard the message in the previous round forwards it to
+// all neighbors except the one it came from. Copies that reach an already informed node are
+// duplicates. Message counts follow from frontier degree sums, so the engine only needs the
+// set of nodes reached in each round.
+// The rounds are a parallel direction-optimizing BFS over bitset frontiers. Top-down rounds
+// expand the frontier and claim nodes with an atomic OR. Bottom-up rounds let every uninformed
+// node look for an informed neighbor, which is cheaper once the frontier covers a large part
+// of the graph (Beamer et al.).
+class BroadcastSimulator {
+    private static final int ALPHA = 14;          // go bottom-up when frontier arcs > unexplored arcs / ALPHA
+    private static final int BETA = 24;           // go back top-down when the frontier < n / BETA
+    private static final int WORDS_PER_CHUNK = 64; // 4096 nodes per parallel task
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static class Result {
+        final int source;
+        final int[] level;
+        final int[] frontierSizes;
+        final long[] messagesPerRound;
+        final boolean[] bottomUp;
+        final int reached;
+        final long totalMessages;
+        final long elapsedNanos;
+
+        Result(int source, int[] level, int[] frontierSizes, long[] messagesPerRound, boolean[] bottomUp,
+               int reached, long totalMessages, long elapsedNanos) {
+            this.source = source;
+            this.level = level;
+            this.frontierSizes = frontierSizes;
+            this.messagesPerRound = messagesPerRound;
+            this.bottomUp = bottomUp;
+            this.reached = reached;
+            this.totalMessages = totalMessages;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Round in which the node first received the message (hops from the source), -1 if never
+        public int levelOf(int node) {
+            return level[node];
+        }
+
+        // Rounds until the last reachable node is informed
+        public int getCompletionRounds() {
+            return frontierSizes.length - 1;
+        }
+
+        // Newly informed nodes per round; round 0 is the source alone
+        public int[] getFrontierSizes() {
+            return frontierSizes.clone();
+        }
+
+        // Copies forwarded by the nodes informed in each round
+        public long[] getMessagesPerRound() {
+            return messagesPerRound.clone();
+        }
+
+        public long getTotalMessages() {
+            return totalMessages;
+        }
+
+        // Copies that reached a node which already had the message
+        public long getDuplicateDeliveries() {
+            return totalMessages - (reached - 1);
+        }
+
+        public int getReachedCount() {
+            return reached;
+        }
+
+        // Whether each round was expanded bottom-up
+        public boolean[] getBottomUpRounds() {
+            return bottomUp.clone();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    // Flooding over every link of the graph
+    public static Result flood(CsrGraph graph, int source) {
+        return flood(graph, source, ForkJoinPool.commonPool());
+    }
+
+    public static Result flood(CsrGraph graph, int source, ForkJoinPool pool) {
+        return run(graph.nodeCount(), graph.offsets(), graph.targets(), source, pool);
+    }
+
+    // Flooding restricted to the links of a broadcast tree, so no copy is ever duplicated
+    public static Result floodTree(BroadcastTreeBuilder.Result tree) {
+        return floodTree(tree, ForkJoinPool.commonPool());
+    }
+
+    public static Result floodTree(BroadcastTreeBuilder.Result tree, ForkJoinPool pool) {
+        int n = tree.graph.nodeCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            int p = tree.parentOf(v);
+            if (p >= 0) {
+                offsets[p + 1]++;
+                offsets[v + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            int p = tree.parentOf(v);
+            if (p >= 0) {
+                targets[fill[p]++] = v;
+                targets[fill[v]++] = p;
+            }
+        }
+        return run(n, offsets, targets, tree.source, pool);
+    }
+
+    private static Result run(int n, int[] offsets, int[] targets, int source, ForkJoinPool pool) {
+        if (source < 0 || source >= n) throw new IllegalArgumentException("Source node out of range: " + source);
+        long start = System.nanoTime();
+        int words = (n + 63) >>> 6;
+        int chunks = (words + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+        long[] visited = new long[words];
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        int[] chunkCount = new int[chunks];
+        long[] chunkDegree = new long[chunks];
+
+        visited[source >>> 6] |= 1L << source;
+        frontier[source >>> 6] |= 1L << source;
+        level[source] = 0;
+        List<Integer> sizes = new ArrayList<>();
+        List<Long> messages = new ArrayList<>();
+        List<Boolean> modes = new ArrayList<>();
+        int frontierSize = 1, reached = 1;
+        long frontierArcs = offsets[source + 1] - offsets[source];
+        long unexploredArcs = offsets[n] - frontierArcs;
+        long totalMessages = 0;
+        boolean bottomUp = false;
+        for (int round = 0; frontierSize > 0; round++) {
+            // Every informed node forwards to all neighbors but its sender; the source has no sender
+            long sent = frontierArcs - (round == 0 ? 0 : frontierSize);
+            sizes.add(frontierSize);
+            messages.add(sent);
+            totalMessages += sent;
+
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) bottomUp = true;
+            else if (bottomUp && frontierSize < n / BETA) bottomUp = false;
+            modes.add(bottomUp);
+            int nextLevel = round + 1;
+            final long[] current = frontier, out = next;
+            Arrays.fill(out, 0);
+            Arrays.fill(chunkCount, 0);
+            Arrays.fill(chunkDegree, 0);
+            if (bottomUp) {
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c ->
+                        bottomUpChunk(c, n, offsets, targets, visited, current, out, level, nextLevel, chunkCount, chunkDegree))).join();
+            } else {
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c ->
+                        topDownChunk(c, words, offsets, targets, visited, current, out, level, nextLevel, chunkCount, chunkDegree))).join();
+            }
+            frontierSize = 0;
+            frontierArcs = 0;
+            for (int c = 0; c < chunks; c++) {
+                frontierSize += chunkCount[c];
+                frontierArcs += chunkDegree[c];
+            }
+            reached += frontierSize;
+            unexploredArcs -= frontierArcs;
+            next = frontier;
+            frontier = out;
+        }
+        int rounds = sizes.size();
+        int[] frontierSizes = new int[rounds];
+        long[] messagesPerRound = new long[rounds];
+        boolean[] bottomUpRounds = new boolean[rounds];
+        for (int r = 0; r < rounds; r++) {
+            frontierSizes[r] = sizes.get(r);
+            messagesPerRound[r] = messages.get(r);
+            bottomUpRounds[r] = modes.get(r);
+        }
+        return new Result(source, level, frontierSizes, messagesPerRound, bottomUpRounds, reached, totalMessages,
+                System.nanoTime() - start);
+    }
+
+    // Expands the frontier nodes in this chunk; the atomic OR decides which task claims a node
+    private static void topDownChunk(int c, int words, int[] offsets, int[] targets, long[] visited, long[] frontier,
+                                     long[] next, int[] level, int nextLevel, int[] chunkCount, long[] chunkDegree) {
+        int from = c * WORDS_PER_CHUNK, to = Math.min(words, from + WORDS_PER_CHUNK);
+        int count = 0;
+        long degree = 0;
+        for (int w = from; w < to; w++) {
+            for (long bits = frontier[w]; bits != 0; bits &= bits - 1) {
+                int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    long mask = 1L << v;
+                    if ((visited[v >>> 6] & mask) != 0) continue;
+                    long before = (long) WORDS.getAndBitwiseOr(visited, v >>> 6, mask);
+                    if ((before & mask) != 0) continue;
+                    WORDS.getAndBitwiseOr(next, v >>> 6, mask);
+                    level[v] = nextLevel;
+                    count++;
+                    degree += offsets[v + 1] - offsets[v];
+                }
+            }
+        }
+        chunkCount[c] = count;
+        chunkDegree[c] = degree;
+    }
+
+    // Each uninformed node in this chunk looks for an informed neighbor; only this task writes these words
+    private static void bottomUpChunk(int c, int n, int[] offsets, int[] targets, long[] visited, long[] frontier,
+                                      long[] next, int[] level, int nextLevel, int[] chunkCount, long[] chunkDegree) {
+        int from = c * WORDS_PER_CHUNK, to = Math.min((n + 63) >>> 6, from + WORDS_PER_CHUNK);
+        int count = 0;
+        long degree = 0;
+        for (int w = from; w < to; w++) {
+            long unvisited = ~visited[w];
+            if (w == (n - 1) >>> 6 && (n & 63) != 0) unvisited &= (1L << n) - 1;
+            long found = 0;
+            for (long bits = unvisited; bits != 0; bits &= bits - 1) {
+                int v = (w << 6) | Long.numberOfTrailingZeros(bits);
+                for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                    int u = targets[e];
+                    if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                        found |= 1L << v;
+                        level[v] = nextLevel;
+                        count++;
+                        degree += end - offsets[v];
+                        break;
+                    }
+                }
+            }
+            if (found != 0) {
+                visited[w] |= found;
+                next[w] = found;
+            }
+        }
+        chunkCount[c] = count;
+        chunkDegree[c] = degree;
+    }
+}
@@ -0,0 +1,193 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Minimum-cost broadcast tree rooted at a source node. Prim grows the tree from the
+// source with an indexed d-ary heap over the CSR rows; Kruskal sorts the link list once.
+// Prim wins on dense meshes and Kruskal on sparse graphs, so chooseAlgorithm picks by density.
+class BroadcastTreeBuilder {
+    enum Algorithm { PRIM, KRUSKAL }
+
+    private static final int HEAP_ARITY = 4;
+    private static final long UNREACHED = Long.MIN_VALUE;
+
+    static class Result {
+        final CsrGraph graph;
+        final int source;
+        final int[] parent;         // tree parent of each node, -1 for the source and unreached nodes
+        final long[] linkCost;      // weight of the link that attaches each node to the tree
+        final long[] arrivalCost;   // cost along the tree from the source
+        final long totalCost;
+        final Algorithm algorithm;
+
+        Result(CsrGraph graph, int source, int[] parent, long[] linkCost, long[] arrivalCost, long totalCost, Algorithm algorithm) {
+            this.graph = graph;
+            this.source = source;
+            this.parent = parent;
+            this.linkCost = linkCost;
+            this.arrivalCost = arrivalCost;
+            this.totalCost = totalCost;
+            this.algorithm = algorithm;
+        }
+
+        public int parentOf(int node) {
+            return parent[node];
+        }
+
+        public long arrivalCostOf(int node) {
+            return arrivalCost[node];
+        }
+
+        // Sum of the tree link weights, i.e. the transmission cost to reach every node once
+        public long getTotalCost() {
+            return totalCost;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        // Tree links as {parent, child} pairs in the order nodes were reached
+        public List<int[]> getTreeEdges() {
+            List<int[]> edges = new ArrayList<>();
+            for (int v = 0; v < parent.length; v++) {
+                if (parent[v] >= 0) edges.add(new int[]{parent[v], v});
+            }
+            return edges;
+        }
+
+        public boolean reaches(int node) {
+            return arrivalCost[node] != UNREACHED;
+        }
+    }
+
+    // Prim's heap work is O(E log_d V) against Kruskal's O(E log E) sort plus a pass over all
+    // links; once the graph is denser than about V log V links, Prim's decrease-keys are cheaper
+    public static Algorithm chooseAlgorithm(CsrGraph graph) {
+        long n = graph.nodeCount();
+        long threshold = n * Math.max(1, 64 - Long.numberOfLeadingZeros(n));
+        return graph.edgeCount() > threshold ? Algorithm.PRIM : Algorithm.KRUSKAL;
+    }
+
+    public static Result build(CsrGraph graph, int source) {
+        return build(graph, source, chooseAlgorithm(graph));
+    }
+
+    public static Result build(CsrGraph graph, int source, Algorithm algorithm) {
+        return algorithm == Algorithm.PRIM ? prim(graph, source) : kruskal(graph, source);
+    }
+
+    public static Result prim(CsrGraph graph, int source) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+        int[] parent = new int[n];
+        long[] linkCost = new long[n];
+        long[] arrival = new long[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(arrival, UNREACHED);
+        IndexedMinHeap heap = new IndexedMinHeap(n, HEAP_ARITY);
+        heap.pushOrDecrease(source, 0);
+        long total = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            inTree[u] = true;
+            linkCost[u] = heap.keyOf(u);
+            arrival[u] = parent[u] < 0 ? 0 : arrival[parent[u]] + linkCost[u];
+            total += linkCost[u];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if (!inTree[v] && heap.pushOrDecrease(v, weights[e])) parent[v] = u;
+            }
+        }
+        return new Result(graph, source, parent, linkCost, arrival, total, Algorithm.PRIM);
+    }
+
+    // Kruskal over the whole graph, then rooted at the source with a BFS over the tree links
+    public static Result kruskal(CsrGraph graph, int source) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+
+        // Pack (weight, arc) into one long so a primitive sort orders links by weight
+        long[] order = new long[graph.edgeCount()];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (u < targets[e]) order[m++] = ((long) weights[e] << 32) | e;
+            }
+        }
+        Arrays.sort(order, 0, m);
+
+        int[] arcSource = new int[graph.arcCount()];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) arcSource[e] = u;
+        }
+        int[] uf = new int[n];
+        for (int i = 0; i < n; i++) uf[i] = i;
+        int[] treeOffsets = new int[n + 1];
+        int[] treeFrom = new int[Math.max(1, n - 1)], treeTo = new int[Math.max(1, n - 1)], treeWeight = new int[Math.max(1, n - 1)];
+        int chosen = 0;
+        for (int i = 0; i < m && chosen < n - 1; i++) {
+            int e = (int) order[i];
+            int u = arcSource[e], v = targets[e];
+            int ru = findRoot(uf, u), rv = findRoot(uf, v);
+            if (ru == rv) continue;
+            uf[ru] = rv;
+            treeFrom[chosen] = u;
+            treeTo[chosen] = v;
+            treeWeight[chosen++] = weights[e];
+        }
+
+        // Adjacency of the spanning forest for rooting it at the source
+        for (int i = 0; i < chosen; i++) {
+            treeOffsets[treeFrom[i] + 1]++;
+            treeOffsets[treeTo[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) treeOffsets[u + 1] += treeOffsets[u];
+        int[] fill = Arrays.copyOf(treeOffsets, n);
+        int[] adj = new int[2 * chosen], adjWeight = new int[2 * chosen];
+        for (int i = 0; i < chosen; i++) {
+            adj[fill[treeFrom[i]]] = treeTo[i];
+            adjWeight[fill[treeFrom[i]]++] = treeWeight[i];
+            adj[fill[treeTo[i]]] = treeFrom[i];
+            adjWeight[fill[treeTo[i]]++] = treeWeight[i];
+        }
+
+        int[] parent = new int[n];
+        long[] linkCost = new long[n];
+        long[] arrival = new long[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(arrival, UNREACHED);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        arrival[source] = 0;
+        long total = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int k = treeOffsets[u]; k < treeOffsets[u + 1]; k++) {
+                int v = adj[k];
+                if (arrival[v] != UNREACHED) continue;
+                parent[v] = u;
+                linkCost[v] = adjWeight[k];
+                arrival[v] = arrival[u] + adjWeight[k];
+                total += adjWeight[k];
+                queue[tail++] = v;
+            }
+        }
+        return new Result(graph, source, parent, linkCost, arrival, total, Algorithm.KRUSKAL);
+    }
+
+    // Iterative find with path halving
+    private static int findRoot(int[] uf, int x) {
+        while (uf[x] != x) {
+            uf[x] = uf[uf[x]];
+            x = uf[x];
+        }
+        return x;
+    }
+}
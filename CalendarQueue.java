@@ -0,0 +1,225 @@
+package mini_proj_dsa;
+
+import java.util.Arrays;
+
+// Calendar queue (Brown, 1988) of timed events for the discrete-event simulators.
+// Time is split into buckets of a fixed width that wrap around like the days of a year; each
+// bucket keeps its events in a short sorted list, so scheduling and taking the next event are
+// O(1) on average. The bucket count and width are re-tuned as the number of pending events changes.
+// Events live in a pool of primitive arrays recycled through a free list, so once the pool has
+// grown to the peak number of pending events nothing is allocated. Events with the same time
+// come out in the order they were scheduled.
+final class CalendarQueue {
+    private static final int MIN_BUCKETS = 16;
+    private static final int WIDTH_SAMPLE = 1024;
+
+    // Event pool
+    private long[] time = new long[64];
+    private long[] seq = new long[64];
+    private int[] type = new int[64];
+    private int[] argA = new int[64];
+    private int[] argB = new int[64];
+    private int[] next = new int[64];
+    private int freeHead = -1;
+    private int used;
+    private long nextSeq;
+
+    // Calendar
+    private int[] head = new int[MIN_BUCKETS];
+    private int[] tail = new int[MIN_BUCKETS]; // last event of each bucket, valid while head >= 0
+    private int mask = MIN_BUCKETS - 1;
+    private long width = 1;
+    private int size;
+    private int lastBucket;
+    private long bucketTop = 1;
+    private long lastTime;
+    private int[] scratch = new int[0];
+
+    CalendarQueue() {
+        Arrays.fill(head, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Time of the last event taken, i.e. the current simulation time
+    long now() {
+        return lastTime;
+    }
+
+    // Schedules an event; time must not be earlier than the last event taken
+    int schedule(long at, int eventType, int a, int b) {
+        if (at < lastTime) {
+            throw new IllegalArgumentException("Cannot schedule at " + at + " before the current time " + lastTime);
+        }
+        int id = allocate();
+        time[id] = at;
+        seq[id] = nextSeq++;
+        type[id] = eventType;
+        argA[id] = a;
+        argB[id] = b;
+        insert(id);
+        if (++size > 2 * (mask + 1)) resize((mask + 1) * 2);
+        return id;
+    }
+
+    // Removes the earliest event and returns its id; read it, then hand it back with release
+    int pollMin() {
+        if (size == 0) throw new IllegalStateException("No pending events.");
+        int b = lastBucket;
+        long top = bucketTop;
+        int e = -1;
+        for (int i = 0; i <= mask; i++) {
+            int h = head[b];
+            if (h >= 0 && time[h] < top) {
+                e = h;
+                break;
+            }
+            b = (b + 1) & mask;
+            top += width;
+        }
+        if (e < 0) {
+            // Nothing due within a year: jump straight to the earliest event
+            for (int i = 0; i <= mask; i++) {
+                int h = head[i];
+                if (h >= 0 && (e < 0 || before(h, e))) e = h;
+            }
+            b = bucketOf(time[e]);
+            top = (time[e] / width + 1) * width;
+        }
+        head[b] = next[e];
+        lastBucket = b;
+        bucketTop = top;
+        lastTime = time[e];
+        if (--size < (mask + 1) / 2 && mask + 1 > MIN_BUCKETS) resize((mask + 1) / 2);
+        return e;
+    }
+
+    long time(int id) {
+        return time[id];
+    }
+
+    int type(int id) {
+        return type[id];
+    }
+
+    int argA(int id) {
+        return argA[id];
+    }
+
+    int argB(int id) {
+        return argB[id];
+    }
+
+    // Returns a polled event to the pool
+    void release(int id) {
+        next[id] = freeHead;
+        freeHead = id;
+    }
+
+    // Drops every pending event and rewinds the clock to zero
+    void clear() {
+        Arrays.fill(head, -1);
+        freeHead = -1;
+        used = 0;
+        size = 0;
+        lastTime = 0;
+        lastBucket = 0;
+        bucketTop = width;
+    }
+
+    private int allocate() {
+        if (freeHead >= 0) {
+            int id = freeHead;
+            freeHead = next[id];
+            return id;
+        }
+        if (used == time.length) {
+            int cap = used * 2;
+            time = Arrays.copyOf(time, cap);
+            seq = Arrays.copyOf(seq, cap);
+            type = Arrays.copyOf(type, cap);
+            argA = Arrays.copyOf(argA, cap);
+            argB = Arrays.copyOf(argB, cap);
+            next = Arrays.copyOf(next, cap);
+        }
+        return used++;
+    }
+
+    private boolean before(int a, int b) {
+        return time[a] < time[b] || (time[a] == time[b] && seq[a] < seq[b]);
+    }
+
+    private int bucketOf(long t) {
+        return (int) ((t / width) & mask);
+    }
+
+    // Sorted insert into the event's bucket; events scheduled in time order append in O(1)
+    private void insert(int id) {
+        int b = bucketOf(time[id]);
+        if (head[b] < 0) {
+            next[id] = -1;
+            head[b] = tail[b] = id;
+            return;
+        }
+        if (!before(id, tail[b])) {
+            next[id] = -1;
+            next[tail[b]] = id;
+            tail[b] = id;
+            return;
+        }
+        int prev = -1, cur = head[b];
+        while (cur >= 0 && !before(id, cur)) {
+            prev = cur;
+            cur = next[cur];
+        }
+        next[id] = cur;
+        if (prev < 0) head[b] = id;
+        else next[prev] = id;
+    }
+
+    // Rebuilds the calendar with a new bucket count and a width fitted to the pending events
+    private void resize(int buckets) {
+        if (scratch.length < size) scratch = new int[Math.max(size, scratch.length * 2)];
+        int count = 0;
+        for (int i = 0; i <= mask; i++) {
+            for (int e = head[i]; e >= 0; e = next[e]) scratch[count++] = e;
+        }
+        width = estimateWidth(count);
+        head = new int[buckets];
+        tail = new int[buckets];
+        Arrays.fill(head, -1);
+        mask = buckets - 1;
+        for (int i = 0; i < count; i++) insert(scratch[i]);
+        lastBucket = bucketOf(lastTime);
+        bucketTop = (lastTime / width + 1) * width;
+    }
+
+    // About three times the typical gap between consecutive event times, ignoring outlying gaps
+    private long estimateWidth(int count) {
+        if (count < 2) return width;
+        int stride = Math.max(1, count / WIDTH_SAMPLE);
+        long[] sample = new long[(count + stride - 1) / stride];
+        int k = 0;
+        for (int i = 0; i < count; i += stride) sample[k++] = time[scratch[i]];
+        Arrays.sort(sample, 0, k);
+        if (k < 2) return width;
+        double average = (sample[k - 1] - sample[0]) / (double) (k - 1);
+        double sum = 0;
+        int gaps = 0;
+        for (int i = 1; i < k; i++) {
+            long gap = sample[i] - sample[i - 1];
+            if (gap <= 2 * average) {
+                sum += gap;
+                gaps++;
+            }
+        }
+        double typical = gaps > 0 ? sum / gaps / stride : average / stride;
+        return Math.max(1, (long) Math.ceil(3 * typical));
+    }
+}
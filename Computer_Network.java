@@ -1,9 +1,16 @@
 package mini_proj_dsa;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class Computer_Network {
     public static void main(String[] args) {
+        // With arguments, run one analysis on a topology file without any prompts
+        if (args.length > 0) {
+            System.exit(runCommand(args));
+        }
         Scanner scanner = new Scanner(System.in);
 
         
@@ -54,5 +61,342 @@ public class Computer_Network {
                     System.out.println("Not a valid input");
             }
         }
+
+    // Batch mode: Computer_Network <command> <edge-list file> [arguments]
+    static int runCommand(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            return 2;
+        }
+        String command = args[0].toLowerCase();
+        if (command.equals("generate")) return generate(args);
+        if (command.equals("load")) return load(args);
+        CsrGraph graph;
+        TopologySnapshot snapshot = null;
+        try {
+            long start = System.nanoTime();
+            Path file = Paths.get(args[1]);
+            if (TopologySnapshot.isSnapshot(file)) snapshot = TopologySnapshot.open(file);
+            graph = snapshot != null ? snapshot.graph() : EdgeListLoader.load(file);
+            System.out.printf("Loaded %d nodes and %d links in %.1f ms%n",
+                    graph.nodeCount(), graph.edgeCount(), (System.nanoTime() - start) / 1e6);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        }
+        try {
+            switch (command) {
+                case "snapshot": {
+                    requireArgs(args, 3, "snapshot <file> <output>");
+                    TopologySnapshot.write(Paths.get(args[2]), graph);
+                    System.out.println("Snapshot written to " + args[2]);
+                    return 0;
+                }
+                case "layout": {
+                    requireArgs(args, 3, "layout <file> <output>");
+                    // Refine the saved layout of a snapshot, or lay the graph out from scratch
+                    long start = System.nanoTime();
+                    ForceLayout layout;
+                    if (snapshot != null && snapshot.hasLayout()) {
+                        float[] x = new float[graph.nodeCount()], y = new float[graph.nodeCount()];
+                        for (int i = 0; i < x.length; i++) {
+                            x[i] = snapshot.x(i);
+                            y[i] = snapshot.y(i);
+                        }
+                        layout = new ForceLayout(graph, x, y);
+                    } else {
+                        layout = new ForceLayout(graph, 42L);
+                    }
+                    layout.run();
+                    System.out.printf("Layout of %d iterations took %.1f ms%n", layout.iterations(), (System.nanoTime() - start) / 1e6);
+                    TopologySnapshot.write(Paths.get(args[2]), graph, layout.x(), layout.y());
+                    System.out.println("Snapshot with layout written to " + args[2]);
+                    return 0;
+                }
+                case "print": {
+                    // print <file> [matrix|list|auto] [rows <first> <last>] [cols <first> <last>] [page <rows>] [out <file>]
+                    AsciiTopologyWriter writer = new AsciiTopologyWriter(graph);
+                    Path output = null;
+                    for (int i = 2; i < args.length; i++) {
+                        switch (args[i].toLowerCase()) {
+                            case "matrix":
+                            case "list":
+                            case "auto":
+                                writer.format(AsciiTopologyWriter.Format.valueOf(args[i].toUpperCase()));
+                                break;
+                            case "rows":
+                                requireArgs(args, i + 3, "print <file> rows <first> <last>");
+                                writer.rows(Integer.parseInt(args[++i]), Integer.parseInt(args[++i]) + 1);
+                                break;
+                            case "cols":
+                                requireArgs(args, i + 3, "print <file> cols <first> <last>");
+                                writer.columns(Integer.parseInt(args[++i]), Integer.parseInt(args[++i]) + 1);
+                                break;
+                            case "page":
+                                requireArgs(args, i + 2, "print <file> page <rows>");
+                                writer.pageRows(Integer.parseInt(args[++i]));
+                                break;
+                            case "out":
+                                requireArgs(args, i + 2, "print <file> out <output>");
+                                output = Paths.get(args[++i]);
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Unknown print option: " + args[i]);
+                        }
+                    }
+                    long start = System.nanoTime();
+                    if (output == null) {
+                        writer.print();
+                    } else {
+                        writer.write(output);
+                        System.out.printf("%s written to %s in %.1f ms%n",
+                                writer.resolvedFormat() == AsciiTopologyWriter.Format.LIST ? "Adjacency list" : "Adjacency matrix",
+                                output, (System.nanoTime() - start) / 1e6);
+                    }
+                    return 0;
+                }
+                case "apply": {
+                    requireArgs(args, 4, "apply <file> <changes> <output> [min|max|last]");
+                    long start = System.nanoTime();
+                    TopologyBatch batch = TopologyBatch.read(graph, Paths.get(args[2]));
+                    if (args.length > 4) batch.weightPolicy(TopologyBatch.WeightPolicy.valueOf(args[4].toUpperCase()));
+                    CsrGraph changed = batch.apply();
+                    System.out.printf("Applied %d changes in %.1f ms: %d nodes and %d links%n",
+                            batch.size(), (System.nanoTime() - start) / 1e6, changed.nodeCount(), changed.edgeCount());
+                    TopologySnapshot.write(Paths.get(args[3]), changed);
+                    System.out.println("Snapshot written to " + args[3]);
+                    return 0;
+                }
+                case "serve": {
+                    // serve <file> [port] [threads]: answers queries until the process is stopped
+                    int port = args.length > 2 ? Integer.parseInt(args[2]) : QueryServer.DEFAULT_PORT;
+                    int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                    QueryServer server = new QueryServer(new TopologyStore(graph), port, threads);
+                    System.out.println("Serving queries on localhost:" + server.port() + " with " + threads + " worker threads");
+                    server.run();
+                    return 0;
+                }
+                case "fault": {
+                    CutVertexAnalyzer.Result result = CutVertexAnalyzer.analyze(graph);
+                    System.out.println("Fault tolerance: " + result.getFaultTolerance());
+                    System.out.println("Critical nodes: " + names(graph, result.getCutVertices()));
+                    return 0;
+                }
+                case "hops": {
+                    AllPairsHopAnalyzer.Result result = AllPairsHopAnalyzer.analyze(graph);
+                    System.out.printf("Average Transmission Time (hops): %.3f%n", result.getAverageHops());
+                    System.out.println("Network Diameter (hops): " + result.getDiameter());
+                    System.out.println("Hop Distribution: " + Arrays.toString(result.getHistogram()));
+                    return 0;
+                }
+                case "route": {
+                    requireArgs(args, 4, "route <file> <source> <destination>");
+                    ShortestPathRouter.Route route = new ShortestPathRouter(graph).route(args[2], args[3]);
+                    if (!route.exists()) {
+                        System.out.println("No route between " + args[2] + " and " + args[3] + ".");
+                        return 0;
+                    }
+                    System.out.println("Optimized route: " + String.join(" -> ", route.getNodeNames()) + " (cost " + route.getCost() + ")");
+                    return 0;
+                }
+                case "mst": {
+                    int[] src = new int[graph.edgeCount()], dst = new int[graph.edgeCount()], weight = new int[graph.edgeCount()];
+                    int m = 0;
+                    for (int u = 0; u < graph.nodeCount(); u++) {
+                        for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                            if (u < graph.target(e)) {
+                                src[m] = u;
+                                dst[m] = graph.target(e);
+                                weight[m++] = graph.weight(e);
+                            }
+                        }
+                    }
+                    ParallelMstEngine engine = new ParallelMstEngine(graph.nodeCount(), Arrays.copyOf(src, m), Arrays.copyOf(dst, m), Arrays.copyOf(weight, m));
+                    int[] mst = engine.run();
+                    System.out.println("MST links: " + mst.length + ", total cost: " + engine.totalWeight(mst));
+                    return 0;
+                }
+                case "broadcast": {
+                    requireArgs(args, 3, "broadcast <file> <source>");
+                    int source = graph.idOf(args[2]);
+                    if (source < 0) throw new IllegalArgumentException("Unknown node: " + args[2]);
+                    BroadcastTreeBuilder.Result tree = BroadcastTreeBuilder.build(graph, source);
+                    int reached = 0;
+                    for (int v = 0; v < graph.nodeCount(); v++) {
+                        if (tree.reaches(v)) reached++;
+                    }
+                    System.out.println("Broadcast tree (" + tree.getAlgorithm() + ") reaches " + reached + " nodes, total transmission cost: " + tree.getTotalCost());
+                    return 0;
+                }
+                case "flood": {
+                    requireArgs(args, 3, "flood <file> <source> [tree]");
+                    int source = graph.idOf(args[2]);
+                    if (source < 0) throw new IllegalArgumentException("Unknown node: " + args[2]);
+                    boolean overTree = args.length > 3 && args[3].equalsIgnoreCase("tree");
+                    BroadcastSimulator.Result flood = overTree
+                            ? BroadcastSimulator.floodTree(BroadcastTreeBuilder.build(graph, source))
+                            : BroadcastSimulator.flood(graph, source);
+                    int[] sizes = flood.getFrontierSizes();
+                    long[] sent = flood.getMessagesPerRound();
+                    for (int round = 0; round < sizes.length; round++) {
+                        System.out.println("Round " + round + ": " + sizes[round] + " newly informed, " + sent[round] + " messages sent");
+                    }
+                    System.out.println("Informed " + flood.getReachedCount() + " of " + graph.nodeCount() + " nodes in "
+                            + flood.getCompletionRounds() + " rounds" + (overTree ? " over the broadcast tree" : ""));
+                    System.out.println("Messages: " + flood.getTotalMessages() + ", duplicate deliveries: " + flood.getDuplicateDeliveries());
+                    System.out.printf("Simulated in %.1f ms%n", flood.getElapsedNanos() / 1e6);
+                    return 0;
+                }
+                case "redundancy": {
+                    requireArgs(args, 4, "redundancy <file> <source> <destination>");
+                    DisjointPathFinder finder = new DisjointPathFinder(graph, null, null);
+                    int s = graph.idOf(args[2]), t = graph.idOf(args[3]);
+                    if (s < 0 || t < 0) throw new IllegalArgumentException("Unknown node: " + (s < 0 ? args[2] : args[3]));
+                    System.out.println("Edge-disjoint paths: " + finder.edgeDisjointPaths(s, t).getPathCount());
+                    System.out.println("Node-disjoint paths: " + finder.nodeDisjointPaths(s, t).getPathCount());
+                    return 0;
+                }
+                case "transfer": {
+                    requireArgs(args, 4, "transfer <file> <source> <destination> [packets] [bytes] [twisted|coaxial|fiber]");
+                    int s = graph.idOf(args[2]), t = graph.idOf(args[3]);
+                    if (s < 0 || t < 0) throw new IllegalArgumentException("Unknown node: " + (s < 0 ? args[2] : args[3]));
+                    long packets = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+                    int bytes = args.length > 5 ? Integer.parseInt(args[5]) : 1500;
+                    PacketSimulator.CableType cable = args.length > 6 ? parseCable(args[6]) : PacketSimulator.CableType.TWISTED_PAIR;
+                    PacketSimulator simulator = new PacketSimulator(graph, cable);
+                    // Send at the line rate of the cable; weights are cable lengths in metres
+                    simulator.addFlow(s, t, bytes, packets, cable.serializationNanos(bytes), 0);
+                    PacketSimulator.Report report = simulator.run();
+                    PacketSimulator.FlowStats flow = report.getFlow(0);
+                    System.out.println("Cable: " + cable.label + ", packets sent: " + flow.getSent()
+                            + ", delivered: " + flow.getDelivered() + ", dropped: " + flow.getDropped());
+                    System.out.printf("Latency (us): p50 %.1f, p99 %.1f, max %.1f%n", flow.getLatencyPercentile(50) / 1e3,
+                            flow.getLatencyPercentile(99) / 1e3, flow.getMaxLatency() / 1e3);
+                    System.out.printf("Throughput: %.2f Mbit/s%n", flow.getThroughputBitsPerSecond() / 1e6);
+                    System.out.printf("Simulated %d events in %.3f s of network time (%.1f million events/s)%n",
+                            report.getEventCount(), report.getSimulatedNanos() / 1e9, report.getEventsPerSecond() / 1e6);
+                    return 0;
+                }
+                case "reach": {
+                    requireArgs(args, 3, "reach <file> <start>");
+                    int s = graph.idOf(args[2]);
+                    if (s < 0) throw new IllegalArgumentException("Unknown node: " + args[2]);
+                    int reached = 0;
+                    for (int d : graph.bfs(s)) {
+                        if (d >= 0) reached++;
+                    }
+                    System.out.printf("Reachability from %s: %.2f%%%n", args[2], reached * 100.0 / graph.nodeCount());
+                    return 0;
+                }
+                case "montecarlo": {
+                    requireArgs(args, 3, "montecarlo <file> <failed nodes> [trials] [seed]");
+                    int k = Integer.parseInt(args[2]);
+                    long trials = args.length > 3 ? Long.parseLong(args[3]) : 100_000;
+                    long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+                    MonteCarloFailureSimulator.Result sim = new MonteCarloFailureSimulator(graph)
+                            .simulate(MonteCarloFailureSimulator.Scenario.randomNodes(k), trials, seed);
+                    double[] ci = sim.getMeanConfidenceInterval();
+                    System.out.printf("Mean reachability: %.4f (95%% CI %.4f - %.4f)%n", sim.getMeanReachability(), ci[0], ci[1]);
+                    System.out.printf("5th percentile reachability: %.4f, median: %.4f%n", sim.getPercentile(5), sim.getPercentile(50));
+                    System.out.printf("Probability of partition: %.4f%n", sim.getPartitionProbability());
+                    return 0;
+                }
+                default:
+                    System.out.println("Unknown command: " + args[0]);
+                    printUsage();
+                    return 2;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        }
     }
 
+    // generate <type> <size> <output> [param] [seed] [weights]: writes a synthetic topology as a snapshot
+    private static int generate(String[] args) {
+        try {
+            requireArgs(args, 4, "generate <type> <size> <output> [param] [seed] [weights]");
+            int size = Integer.parseInt(args[2]);
+            int param = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+            long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+            TopologyGenerator generator = new TopologyGenerator(seed);
+            if (args.length > 6) generator.weights(TopologyGenerator.Weights.parse(args[6]));
+            long start = System.nanoTime();
+            CsrGraph graph = generator.generate(args[1], size, param).toCsrGraph();
+            System.out.printf("Generated %d nodes and %d links in %.1f ms%n",
+                    graph.nodeCount(), graph.edgeCount(), (System.nanoTime() - start) / 1e6);
+            TopologySnapshot.write(Paths.get(args[3]), graph);
+            System.out.println("Snapshot written to " + args[3]);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // load [host:]port [connections] [seconds] [depth]: drives a running query server and reports its speed
+    private static int load(String[] args) {
+        try {
+            String target = args[1];
+            int colon = target.lastIndexOf(':');
+            String host = colon < 0 ? "localhost" : target.substring(0, colon);
+            int port = Integer.parseInt(target.substring(colon + 1));
+            QueryLoadClient client = new QueryLoadClient(host, port);
+            if (args.length > 2) client.connections(Integer.parseInt(args[2]));
+            if (args.length > 3) client.seconds(Double.parseDouble(args[3]));
+            if (args.length > 4) client.depth(Integer.parseInt(args[4]));
+            QueryLoadClient.Report report = client.run();
+            System.out.printf("Requests: %d (%d errors), %.0f queries/s%n", report.getRequests(), report.getErrors(), report.getQueriesPerSecond());
+            System.out.printf("Latency (us): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                    report.getLatencyPercentile(50) / 1e3, report.getLatencyPercentile(90) / 1e3,
+                    report.getLatencyPercentile(99) / 1e3, report.getLatencyPercentile(99.9) / 1e3, report.getMaxLatency() / 1e3);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    private static void requireArgs(String[] args, int count, String usage) {
+        if (args.length < count) throw new IllegalArgumentException("Usage: " + usage);
+    }
+
+    private static PacketSimulator.CableType parseCable(String name) {
+        switch (name.toLowerCase()) {
+            case "twisted":
+            case "twisted_pair":
+                return PacketSimulator.CableType.TWISTED_PAIR;
+            case "coaxial":
+            case "coax":
+                return PacketSimulator.CableType.COAXIAL;
+            case "fiber":
+            case "fiber_optic":
+                return PacketSimulator.CableType.FIBER_OPTIC;
+            default:
+                throw new IllegalArgumentException("Unknown cable type: " + name + " (use twisted, coaxial or fiber)");
+        }
+    }
+
+    private static List<String> names(CsrGraph graph, int[] ids) {
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) names.add(graph.nameOf(id));
+        return names;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: Computer_Network <command> <edge-list or snapshot file> [arguments]");
+        System.out.println("Commands: fault, hops, route <src> <dst>, mst, broadcast <src>, flood <src> [tree],");
+        System.out.println("          redundancy <src> <dst>, reach <start>, montecarlo <k> [trials] [seed],");
+        System.out.println("          transfer <src> <dst> [packets] [bytes] [twisted|coaxial|fiber], snapshot <output>,");
+        System.out.println("          layout <output>, print [matrix|list|auto] [rows <first> <last>] [cols <first> <last>]");
+        System.out.println("          [page <rows>] [out <output>], apply <changes> <output> [min|max|last],");
+        System.out.println("          serve [port] [threads]");
+        System.out.println("   or: Computer_Network generate <bus|ring|star|tree|mesh|random|scalefree|grid|torus|fattree>");
+        System.out.println("          <size> <output> [param] [seed] [constant:W|uniform:LO:HI|normal:MEAN:SD|exponential:MEAN]");
+        System.out.println("   or: Computer_Network load [host:]port [connections] [seconds] [depth]");
+        System.out.println("Edge lists hold one 'node1 node2 [weight]' per line, space/tab/comma separated");
+    }
+}
@@ -0,0 +1,406 @@
+package mini_proj_dsa;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Compressed sparse row graph: node names are interned to dense int ids and every
+// undirected link is stored once per direction in primitive arrays.
+// Neighbors of node u are targets[offsets[u]] .. targets[offsets[u + 1] - 1], sorted by id.
+public final class CsrGraph {
+    private static final int BLOCK = 1 << 16;   // links per task in fromLinks
+    private static final int BUCKETS = 1024;    // fromLinks: at most this many source node ranges
+    private final String[] names;
+    private volatile Map<String, Integer> ids; // built on first use when null
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int edgeCount;
+
+    CsrGraph(String[] names, Map<String, Integer> ids, int[] offsets, int[] targets, int[] weights, int edgeCount) {
+        this.names = names;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+    }
+
+    public int nodeCount() {
+        return names.length;
+    }
+
+    // Number of undirected links (a self loop counts once)
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Number of directed adjacency entries, i.e. the length of the targets array
+    public int arcCount() {
+        return offsets[names.length];
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    // Returns the id of the named node, or -1 if it does not exist
+    public int idOf(String name) {
+        Map<String, Integer> index = ids;
+        if (index == null) index = buildIndex();
+        Integer id = index.get(name);
+        return id == null ? -1 : id;
+    }
+
+    private synchronized Map<String, Integer> buildIndex() {
+        if (ids == null) {
+            Map<String, Integer> index = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) index.put(names[i], i);
+            ids = index;
+        }
+        return ids;
+    }
+
+    public String[] nodeNames() {
+        return names.clone();
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    // First adjacency slot of node u
+    public int firstArc(int u) {
+        return offsets[u];
+    }
+
+    // One past the last adjacency slot of node u
+    public int endArc(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    // Finds the adjacency slot of u -> v by binary search, or -1 if the nodes are not linked
+    public int arcOf(int u, int v) {
+        int lo = offsets[u], hi = offsets[u + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int t = targets[mid];
+            if (t < v) lo = mid + 1;
+            else if (t > v) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return arcOf(u, v) >= 0;
+    }
+
+    // Returns the weight of the u - v link, or -1 if the nodes are not linked
+    public int weight(int u, int v) {
+        int arc = arcOf(u, v);
+        return arc < 0 ? -1 : weights[arc];
+    }
+
+    // Raw arrays for tight loops in the analysis engines; callers must not modify them
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    // Breadth-first hop counts from the source, -1 for unreachable nodes
+    public int[] bfs(int source) {
+        int n = names.length;
+        int[] dist = new int[n];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        dist[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if (dist[v] < 0) {
+                    dist[v] = dist[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return dist;
+    }
+
+    // Approximate heap footprint of the primitive arrays (excluding the name table)
+    public long arrayBytes() {
+        return 4L * (offsets.length + targets.length + weights.length);
+    }
+
+    // Parallel freeze of link arrays src[i] - dst[i] with weight[i] over nodes named names[0..n-1].
+    // Arcs are distributed into ranges of source nodes, then each range lays out and sorts its
+    // own rows, so no two tasks write the same memory and the result does not depend on timing.
+    // Repeated links are merged with the given policy; self loops are dropped unless keepSelfLoops is set.
+    static CsrGraph fromLinks(String[] names, int[] src, int[] dst, int[] weight, boolean keepSelfLoops,
+                              TopologyBatch.WeightPolicy policy, ForkJoinPool pool) {
+        int n = names.length, m = src.length;
+        int blocks = (m + BLOCK - 1) / BLOCK;
+        // Arcs are first grouped into buckets of consecutive source nodes. Every block counts
+        // its arcs per bucket, so it owns a fixed slice of each bucket and no writes collide.
+        int shift = 10;
+        while ((n - 1L) >>> shift >= BUCKETS) shift++;
+        int bucketShift = shift, buckets = n == 0 ? 0 : ((n - 1) >>> shift) + 1;
+        int[][] slice = new int[blocks][];
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            int[] count = new int[buckets];
+            for (int i = b * BLOCK, end = Math.min(m, i + BLOCK); i < end; i++) {
+                if (src[i] == dst[i]) {
+                    if (keepSelfLoops) count[src[i] >>> bucketShift]++;
+                    continue;
+                }
+                count[src[i] >>> bucketShift]++;
+                count[dst[i] >>> bucketShift]++;
+            }
+            slice[b] = count;
+        })).join();
+        int[] bucketStart = new int[buckets + 1];
+        int total = 0;
+        for (int k = 0; k < buckets; k++) {
+            bucketStart[k] = total;
+            for (int b = 0; b < blocks; b++) {
+                int count = slice[b][k];
+                slice[b][k] = total;
+                total += count;
+            }
+        }
+        bucketStart[buckets] = total;
+        long[] arcs = new long[total];
+        int[] arcWeights = new int[total];
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            int[] next = slice[b];
+            for (int i = b * BLOCK, end = Math.min(m, i + BLOCK); i < end; i++) {
+                int u = src[i], v = dst[i];
+                if (u == v && !keepSelfLoops) continue;
+                int a = next[u >>> bucketShift]++;
+                arcs[a] = ((long) u << 32) | v;
+                arcWeights[a] = weight[i];
+                if (u == v) continue;
+                a = next[v >>> bucketShift]++;
+                arcs[a] = ((long) v << 32) | u;
+                arcWeights[a] = weight[i];
+            }
+        })).join();
+
+        // Each bucket then lays out its own rows, which stay in cache. Arcs reach their row in link
+        // order, so a row is sorted by (target, position) for LAST and by (target, weight) for
+        // MIN and MAX; the weight is biased by Integer.MIN_VALUE so negative weights sort first.
+        boolean last = policy == TopologyBatch.WeightPolicy.LAST;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[total];
+        int[] weights = new int[total];
+        offsets[n] = total;
+        int[] kept = new int[n + 1];
+        int[] loops = new int[buckets];
+        ThreadLocal<long[]> scratch = ThreadLocal.withInitial(() -> new long[16]);
+        ThreadLocal<int[]> weightScratch = ThreadLocal.withInitial(() -> new int[16]);
+        pool.submit(() -> IntStream.range(0, buckets).parallel().forEach(k -> {
+            int lo = k << bucketShift, hi = (int) Math.min(n, (long) lo + (1 << bucketShift));
+            int from = bucketStart[k], to = bucketStart[k + 1];
+            // Only offsets lo..hi-1 belong to this bucket; offsets[hi] is the next bucket's start
+            int[] next = new int[hi - lo];
+            for (int a = from; a < to; a++) next[(int) (arcs[a] >>> 32) - lo]++;
+            for (int u = lo, start = from; u < hi; u++) {
+                int degree = next[u - lo];
+                offsets[u] = next[u - lo] = start;
+                start += degree;
+            }
+            for (int a = from; a < to; a++) {
+                int p = next[(int) (arcs[a] >>> 32) - lo]++;
+                targets[p] = (int) arcs[a];
+                weights[p] = arcWeights[a];
+            }
+            long[] row = scratch.get();
+            int[] rowWeights = weightScratch.get();
+            for (int u = lo; u < hi; u++) {
+                // After the placement next[] holds the end of every row
+                int start = offsets[u], len = next[u - lo] - start;
+                if (row.length < len) scratch.set(row = new long[len]);
+                if (last && rowWeights.length < len) weightScratch.set(rowWeights = new int[len]);
+                for (int j = 0; j < len; j++) {
+                    long key = last ? j : (weights[start + j] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+                    row[j] = ((long) targets[start + j] << 32) | key;
+                }
+                if (last) System.arraycopy(weights, start, rowWeights, 0, len);
+                Arrays.sort(row, 0, len);
+                int out = 0;
+                for (int j = 0; j < len; j++) {
+                    int v = (int) (row[j] >>> 32);
+                    int w = last ? rowWeights[(int) row[j]] : (int) row[j] ^ Integer.MIN_VALUE;
+                    if (out > 0 && targets[start + out - 1] == v) {
+                        // MIN keeps the first weight of the run, MAX and LAST the last one
+                        if (policy != TopologyBatch.WeightPolicy.MIN) weights[start + out - 1] = w;
+                        continue;
+                    }
+                    if (v == u) loops[k]++;
+                    targets[start + out] = v;
+                    weights[start + out++] = w;
+                }
+                kept[u + 1] = out;
+            }
+        })).join();
+
+        int[] finalTargets = targets, finalWeights = weights, finalOffsets = offsets;
+        Arrays.parallelPrefix(kept, Integer::sum);
+        if (kept[n] < offsets[n]) {
+            finalTargets = new int[kept[n]];
+            finalWeights = new int[kept[n]];
+            int[] t = finalTargets, w = finalWeights;
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+                System.arraycopy(targets, offsets[u], t, kept[u], kept[u + 1] - kept[u]);
+                System.arraycopy(weights, offsets[u], w, kept[u], kept[u + 1] - kept[u]);
+            })).join();
+            finalOffsets = kept;
+        }
+        int selfLoops = 0;
+        for (int count : loops) selfLoops += count;
+        // The name index is built on first lookup
+        return new CsrGraph(names, null, finalOffsets, finalTargets, finalWeights, (finalOffsets[n] - selfLoops) / 2 + selfLoops);
+    }
+
+    // Builder collecting nodes and weighted links before freezing them into a CsrGraph.
+    // Repeated links keep the weight that was added last (TopologyBatch.WeightPolicy.LAST),
+    // matching the map-based topologies; fromLinks with LAST freezes the same links the same way.
+    public static final class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] names = new String[16];
+        private int nodeCount;
+        private int[] src = new int[16];
+        private int[] dst = new int[16];
+        private int[] wgt = new int[16];
+        private int linkCount;
+
+        public Builder() {
+        }
+
+        public Builder(int expectedNodes, int expectedLinks) {
+            names = new String[Math.max(1, expectedNodes)];
+            src = new int[Math.max(1, expectedLinks)];
+            dst = new int[src.length];
+            wgt = new int[src.length];
+        }
+
+        // Interns the node name and returns its id; existing names keep their id
+        public int addNode(String name) {
+            Integer id = ids.get(name);
+            if (id != null) return id;
+            if (nodeCount == names.length) names = Arrays.copyOf(names, nodeCount * 2);
+            names[nodeCount] = name;
+            ids.put(name, nodeCount);
+            return nodeCount++;
+        }
+
+        public int nodeCount() {
+            return nodeCount;
+        }
+
+        // Returns the id of the named node, or -1 if it has not been added
+        public int idOf(String name) {
+            Integer id = ids.get(name);
+            return id == null ? -1 : id;
+        }
+
+        public Builder addEdge(String node1, String node2, int weight) {
+            return addEdge(addNode(node1), addNode(node2), weight);
+        }
+
+        public Builder addEdge(int u, int v, int weight) {
+            if (u < 0 || u >= nodeCount || v < 0 || v >= nodeCount) {
+                throw new IllegalArgumentException("Node id out of range: " + u + ", " + v);
+            }
+            if (linkCount == src.length) {
+                int cap = linkCount * 2;
+                src = Arrays.copyOf(src, cap);
+                dst = Arrays.copyOf(dst, cap);
+                wgt = Arrays.copyOf(wgt, cap);
+            }
+            src[linkCount] = u;
+            dst[linkCount] = v;
+            wgt[linkCount] = weight;
+            linkCount++;
+            return this;
+        }
+
+        // Freezes the collected links into CSR form
+        public CsrGraph build() {
+            int n = nodeCount;
+            int[] degree = new int[n + 1];
+            for (int i = 0; i < linkCount; i++) {
+                degree[src[i]]++;
+                if (src[i] != dst[i]) degree[dst[i]]++;
+            }
+            int[] start = new int[n + 1];
+            for (int u = 0; u < n; u++) start[u + 1] = start[u] + degree[u];
+            int[] fill = Arrays.copyOf(start, n);
+            // Arc order inside each row follows insertion order, so "last wins" survives the sort below
+            int[] arcTarget = new int[start[n]];
+            int[] arcWeight = new int[start[n]];
+            for (int i = 0; i < linkCount; i++) {
+                int u = src[i], v = dst[i];
+                arcTarget[fill[u]] = v;
+                arcWeight[fill[u]++] = wgt[i];
+                if (u != v) {
+                    arcTarget[fill[v]] = u;
+                    arcWeight[fill[v]++] = wgt[i];
+                }
+            }
+
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[start[n]];
+            int[] weights = new int[start[n]];
+            long[] row = new long[16];
+            int out = 0, selfLoops = 0;
+            for (int u = 0; u < n; u++) {
+                offsets[u] = out;
+                int len = start[u + 1] - start[u];
+                if (row.length < len) row = new long[len];
+                // Pack (target, position) so a stable sort by target keeps insertion order
+                for (int k = 0; k < len; k++) {
+                    row[k] = ((long) arcTarget[start[u] + k] << 32) | k;
+                }
+                Arrays.sort(row, 0, len);
+                for (int k = 0; k < len; k++) {
+                    int v = (int) (row[k] >>> 32);
+                    int w = arcWeight[start[u] + (int) row[k]];
+                    if (out > offsets[u] && targets[out - 1] == v) {
+                        weights[out - 1] = w;
+                    } else {
+                        targets[out] = v;
+                        weights[out++] = w;
+                        if (v == u) selfLoops++;
+                    }
+                }
+            }
+            offsets[n] = out;
+            if (out < targets.length) {
+                targets = Arrays.copyOf(targets, out);
+                weights = Arrays.copyOf(weights, out);
+            }
+            String[] frozenNames = Arrays.copyOf(names, n);
+            Map<String, Integer> frozenIds = new HashMap<>(ids);
+            return new CsrGraph(frozenNames, frozenIds, offsets, targets, weights, (out - selfLoops) / 2 + selfLoops);
+        }
+    }
+}
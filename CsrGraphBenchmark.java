@@ -0,0 +1,95 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Compares the map-of-maps adjacency used by NetworkTopology with CsrGraph:
+// heap bytes per undirected link and BFS traversal time over a random graph.
+// Usage: CsrGraphBenchmark [nodes] [links] [seed]
+public class CsrGraphBenchmark {
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int links = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        String[] names = new String[nodes];
+        for (int i = 0; i < nodes; i++) names[i] = "N" + i;
+        int[] src = new int[links], dst = new int[links], wgt = new int[links];
+        Random rand = new Random(seed);
+        for (int i = 0; i < links; i++) {
+            src[i] = rand.nextInt(nodes);
+            do {
+                dst[i] = rand.nextInt(nodes);
+            } while (dst[i] == src[i]);
+            wgt[i] = 1 + rand.nextInt(100);
+        }
+
+        // Map-based adjacency, built exactly as NetworkTopology.addConnection does
+        long before = usedHeap();
+        Map<String, Map<String, Integer>> adjMatrix = new HashMap<>();
+        for (String name : names) adjMatrix.put(name, new HashMap<>());
+        for (int i = 0; i < links; i++) {
+            adjMatrix.get(names[src[i]]).put(names[dst[i]], wgt[i]);
+            adjMatrix.get(names[dst[i]]).put(names[src[i]], wgt[i]);
+        }
+        long mapBytes = usedHeap() - before;
+
+        before = usedHeap();
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodes, links);
+        for (String name : names) builder.addNode(name);
+        for (int i = 0; i < links; i++) builder.addEdge(src[i], dst[i], wgt[i]);
+        CsrGraph graph = builder.build();
+        builder = null;
+        long csrBytes = usedHeap() - before;
+
+        int edges = graph.edgeCount();
+        System.out.println("Nodes: " + nodes + ", distinct links: " + edges);
+        System.out.printf("Map adjacency: %,d bytes (%.1f bytes/link)%n", mapBytes, mapBytes / (double) edges);
+        System.out.printf("CSR graph:     %,d bytes (%.1f bytes/link, arrays only %.1f)%n",
+                csrBytes, csrBytes / (double) edges, graph.arrayBytes() / (double) edges);
+
+        int rounds = 5;
+        long sink = 0;
+        long mapNanos = Long.MAX_VALUE, csrNanos = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long t0 = System.nanoTime();
+            sink += mapBfs(adjMatrix, names[r % nodes]);
+            long t1 = System.nanoTime();
+            int[] dist = graph.bfs(r % nodes);
+            long t2 = System.nanoTime();
+            sink += dist[dist.length - 1];
+            mapNanos = Math.min(mapNanos, t1 - t0);
+            csrNanos = Math.min(csrNanos, t2 - t1);
+        }
+        System.out.printf("BFS over maps: %.2f ms%n", mapNanos / 1e6);
+        System.out.printf("BFS over CSR:  %.2f ms (%.1fx faster)%n", csrNanos / 1e6, mapNanos / (double) csrNanos);
+        if (sink == 42) System.out.println();
+    }
+
+    // Same traversal shape as the existing BFS code: HashSet visited set and LinkedList queue
+    private static int mapBfs(Map<String, Map<String, Integer>> adjMatrix, String start) {
+        Set<String> visited = new HashSet<>();
+        Queue<String> queue = new LinkedList<>();
+        queue.add(start);
+        visited.add(start);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            for (String neighbor : adjMatrix.get(current).keySet()) {
+                if (visited.add(neighbor)) queue.add(neighbor);
+            }
+        }
+        return visited.size();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,127 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Single-pass articulation point analysis (Hopcroft-Tarjan) with an explicit stack,
+// so long bus or ring chains cannot overflow the call stack.
+// The fault tolerance score follows FaultToleranceCalculator: a node failure is tolerable
+// when every node that still has a link afterwards lies in one connected component.
+class CutVertexAnalyzer {
+
+    // Result of one analysis pass
+    static class Result {
+        final int nodeCount;
+        final int tolerableFailures;
+        final int[] cutVertices;
+
+        Result(int nodeCount, int tolerableFailures, int[] cutVertices) {
+            this.nodeCount = nodeCount;
+            this.tolerableFailures = tolerableFailures;
+            this.cutVertices = cutVertices;
+        }
+
+        // Ratio of single-node failures the network survives
+        public double getFaultTolerance() {
+            return (double) tolerableFailures / nodeCount;
+        }
+
+        public int getTolerableFailures() {
+            return tolerableFailures;
+        }
+
+        // Ids of the critical devices, in ascending order
+        public int[] getCutVertices() {
+            return cutVertices.clone();
+        }
+    }
+
+    public static Result analyze(CsrGraph graph) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+
+        boolean[] selfLoop = new boolean[n];
+        boolean[] active = new boolean[n];
+        for (int u = 0; u < n; u++) {
+            active[u] = graph.degree(u) > 0;
+            selfLoop[u] = graph.hasEdge(u, u);
+        }
+
+        int[] disc = new int[n];       // discovery time + 1, 0 means unvisited
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] size = new int[n];       // DFS subtree size
+        int[] nextArc = new int[n];
+        int[] sepSize = new int[n];    // nodes in child subtrees cut off when u fails
+        int[] sepChildren = new int[n];
+        int[] pieces = new int[n];     // cut-off pieces that keep at least one link
+        int[] stack = new int[n];
+        int[] order = new int[n];
+        int[] remaining = new int[n];  // pieces left behind by removing u
+        int time = 0, components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (!active[root] || disc[root] != 0) continue;
+            components++;
+            int first = time, top = 0;
+            stack[top++] = root;
+            parent[root] = -1;
+            disc[root] = low[root] = ++time;
+            order[first] = root;
+            size[root] = 1;
+            nextArc[root] = offsets[root];
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (nextArc[u] < offsets[u + 1]) {
+                    int v = targets[nextArc[u]++];
+                    if (v == u || v == parent[u]) continue;
+                    if (disc[v] == 0) {
+                        parent[v] = u;
+                        disc[v] = low[v] = ++time;
+                        order[time - 1] = v;
+                        size[v] = 1;
+                        nextArc[v] = offsets[v];
+                        stack[top++] = v;
+                    } else if (disc[v] < low[u]) {
+                        low[u] = disc[v];
+                    }
+                } else {
+                    top--;
+                    int p = parent[u];
+                    if (p < 0) continue;
+                    size[p] += size[u];
+                    if (low[u] < low[p]) low[p] = low[u];
+                    if (low[u] >= disc[p]) {
+                        sepChildren[p]++;
+                        sepSize[p] += size[u];
+                        if (size[u] >= 2 || selfLoop[u]) pieces[p]++;
+                    }
+                }
+            }
+            // The side containing the parent survives as one piece unless it is a lone unlinked node
+            int compSize = size[root];
+            for (int i = first; i < time; i++) {
+                int u = order[i];
+                int count = pieces[u];
+                if (u != root) {
+                    int rest = compSize - 1 - sepSize[u];
+                    if (rest >= 2 || (rest == 1 && selfLoop[parent[u]])) count++;
+                }
+                remaining[u] = count;
+            }
+        }
+
+        int tolerable = 0, cutCount = 0;
+        int[] cuts = new int[n];
+        for (int u = 0; u < n; u++) {
+            if (!active[u]) {
+                if (components == 1) tolerable++;
+                continue;
+            }
+            if (components - 1 + remaining[u] == 1) tolerable++;
+            boolean isCut = parent[u] < 0 ? sepChildren[u] >= 2 : sepChildren[u] >= 1;
+            if (isCut) cuts[cutCount++] = u;
+        }
+        return new Result(n, tolerable, Arrays.copyOf(cuts, cutCount));
+    }
+}
@@ -2,85 +2,75 @@ package mini_proj_dsa;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
 import java.util.*;
 import java.util.List;
-class CS extends JPanel {
-   private final Map<String, List<NetTopo_F.Node>> adjacencyList;
-   private final Set<String> disabledNodes;
-   private final Set<String> disabledLinks;
-   private final Map<String, Point> nodePositions = new HashMap<>();
-   private final int panelWidth = 800;
-   private final int panelHeight = 600;
+// Network view with disabled nodes in gray and disabled links hidden. The disabled sets are
+// resolved once into the scene, which GraphCanvas caches, culls and lets the user pan and zoom.
+class CS extends GraphCanvas {
+   private static final int PANEL_WIDTH = 800;
+   private static final int PANEL_HEIGHT = 600;
+   private static final int ACTIVE = 0, DISABLED = 1;
    public CS(Map<String, List<NetTopo_F.Node>> adjacencyList,
                             Set<String> disabledNodes, Set<String> disabledLinks) {
-       this.adjacencyList = adjacencyList;
-       this.disabledNodes = disabledNodes;
-       this.disabledLinks = disabledLinks;
-       generateNodePositions();
-       setPreferredSize(new Dimension(panelWidth, panelHeight));
-   }
-   // Calculate positions for nodes in a circular layout
-   private void generateNodePositions() {
+       super(buildScene(adjacencyList, disabledNodes, disabledLinks));
+       setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+   }
+   private static GraphCanvas.Scene buildScene(Map<String, List<NetTopo_F.Node>> adjacencyList,
+                                               Set<String> disabledNodes, Set<String> disabledLinks) {
+       // Active nodes in red, disabled nodes in gray; links in blue
+       GraphCanvas.Scene scene = new GraphCanvas.Scene(new Color[]{Color.RED, Color.GRAY}, new Color[]{Color.BLUE})
+               .nodeRadius(10)
+               .labels(Color.BLACK, -5, -15);
+       // Calculate positions for nodes in a circular layout
        int nodeCount = adjacencyList.size();
-       int centerX = panelWidth / 2;
-       int centerY = panelHeight / 2;
+       int centerX = PANEL_WIDTH / 2;
+       int centerY = PANEL_HEIGHT / 2;
        int radius = Math.min(centerX, centerY) - 50;
-       int angleIncrement = 360 / Math.max(1, nodeCount);
-       int angle = 0;
-       for (String node : adjacencyList.keySet()) {
-           int x = (int) (centerX + radius * Math.cos(Math.toRadians(angle)));
-           int y = (int) (centerY + radius * Math.sin(Math.toRadians(angle)));
-           nodePositions.put(node, new Point(x, y));
-           angle += angleIncrement;
-       }
-   }
-   @Override
-   protected void paintComponent(Graphics g) {
-       super.paintComponent(g);
-       Graphics2D g2d = (Graphics2D) g;
-       // Draw edges
-       g2d.setColor(Color.BLUE);
+       Map<String, Integer> ids = new HashMap<>();
        for (String node : adjacencyList.keySet()) {
-           if (disabledNodes.contains(node)) continue;
-           Point p1 = nodePositions.get(node);
-           for (NetTopo_F.Node neighbor : adjacencyList.get(node)) {
-               if (disabledNodes.contains(neighbor.name)) continue;
-               String link = node + "-" + neighbor.name;
-               if (disabledLinks.contains(link)) continue;
-               Point p2 = nodePositions.get(neighbor.name);
-               if (p2 != null) {
-                   g2d.draw(new Line2D.Double(p1.x, p1.y, p2.x, p2.y));
-               }
-           }
+           double angle = 2 * Math.PI * ids.size() / Math.max(1, nodeCount);
+           int x = (int) (centerX + radius * Math.cos(angle));
+           int y = (int) (centerY + radius * Math.sin(angle));
+           ids.put(node, scene.addNode(x, y, node, disabledNodes.contains(node) ? DISABLED : ACTIVE));
        }
-       // Draw nodes
-       for (String node : nodePositions.keySet()) {
-           Point position = nodePositions.get(node);
-           if (disabledNodes.contains(node)) {
-               g2d.setColor(Color.GRAY); // Disabled nodes in gray
-           } else {
-               g2d.setColor(Color.RED);  // Active nodes in red
+       // Each undirected link once, skipping disabled links and links of disabled nodes
+       for (Map.Entry<String, List<NetTopo_F.Node>> entry : adjacencyList.entrySet()) {
+           String node = entry.getKey();
+           if (disabledNodes.contains(node)) continue;
+           int u = ids.get(node);
+           for (NetTopo_F.Node neighbor : entry.getValue()) {
+               Integer v = ids.get(neighbor.name);
+               if (v == null || v <= u || disabledNodes.contains(neighbor.name)) continue;
+               if (disabledLinks.contains(node + "-" + neighbor.name)) continue;
+               scene.addEdge(u, v, 0, GraphCanvas.NO_LABEL);
            }
-           g2d.fillOval(position.x - 10, position.y - 10, 20, 20);
-           g2d.setColor(Color.BLACK);
-           g2d.drawString(node, position.x - 5, position.y - 15);
        }
+       return scene;
    }
    public static void visualizeNetwork(Map<String, List<NetTopo_F.Node>> adjacencyList,
                                        Set<String> disabledNodes, Set<String> disabledLinks) {
        JFrame frame = new JFrame("Network Topology Visualization");
        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-       frame.add(new CS(adjacencyList, disabledNodes, disabledLinks));
+       CS view = new CS(adjacencyList, disabledNodes, disabledLinks);
+       frame.add(view);
        frame.pack();
        frame.setLocationRelativeTo(null);
        frame.setVisible(true);
+       // Spread the circle out by link structure in the background
+       view.startLayout(false);
    }
 }
 class NetTopo_F {
    private final Map<String, List<Node>> adjacencyList = new HashMap<>();
-   private final Set<String> disabledNodes = new HashSet<>();
-   private final Set<String> disabledLinks = new HashSet<>();
+   // Node names interned to the ids used by the connectivity layer and the CSR copy
+   private final Map<String, Integer> nodeIds = new HashMap<>();
+   private final List<String> nodeNames = new ArrayList<>();
+   private final DynamicConnectivity connectivity = new DynamicConnectivity();
+   private CsrGraph frozen; // Shared by the path analyses until a connection is added
+   // Disjoint path results, off until cacheResults is called. Disabling an element that none of a
+   // result's paths use leaves the maximum path count unchanged, so only results through it are
+   // dropped; enabling or adding can open new paths anywhere and makes every result out of date.
+   private ResultCache<String, DisjointPathFinder.Result> pathCache;
    class Node {
        String name;
        int weight;
@@ -89,87 +79,202 @@ class NetTopo_F {
            this.weight = weight;
        }
    }
+   NetTopo_F() {
+   }
+   // Keeps up to capacity disjoint path results between topology changes
+   public NetTopo_F cacheResults(int capacity) {
+       pathCache = new ResultCache<>(capacity);
+       return this;
+   }
+   // Hit and invalidation counts of the result cache, or null without one
+   public ResultCache.Stats cacheStats() {
+       return pathCache == null ? null : pathCache.stats();
+   }
+   // Builds the topology from a graph that is already loaded. This copies every node and link
+   // into the adjacency lists and the connectivity layer, which the toggles and views work on.
+   // Nodes keep their CSR ids, so the path analyses reuse the given graph until a connection is
+   // added. Nodes without links are registered too.
+   NetTopo_F(CsrGraph graph) {
+       for (int u = 0; u < graph.nodeCount(); u++) {
+           idOf(graph.nameOf(u));
+           adjacencyList.put(graph.nameOf(u), new ArrayList<>());
+       }
+       for (int u = 0; u < graph.nodeCount(); u++) {
+           for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+               int v = graph.target(e);
+               if (u <= v) addConnection(graph.nameOf(u), graph.nameOf(v), graph.weight(e));
+           }
+       }
+       frozen = graph;
+   }
+   // A repeated link keeps one entry per side and takes the new weight, as CsrGraph.Builder does
    public void addConnection(String node1, String node2, int weight) {
+       frozen = null;
+       if (nodeIds.containsKey(node1) && nodeIds.containsKey(node2)
+               && connectivity.linkId(nodeIds.get(node1), nodeIds.get(node2)) >= 0) {
+           setWeight(node1, node2, weight);
+           setWeight(node2, node1, weight);
+           return;
+       }
+       if (pathCache != null) pathCache.invalidateAll();
        adjacencyList.putIfAbsent(node1, new ArrayList<>());
        adjacencyList.putIfAbsent(node2, new ArrayList<>());
        adjacencyList.get(node1).add(new Node(node2, weight));
        adjacencyList.get(node2).add(new Node(node1, weight));
+       connectivity.addLink(idOf(node1), idOf(node2));
+   }
+   private void setWeight(String node, String neighbor, int weight) {
+       for (Node entry : adjacencyList.get(node)) {
+           if (entry.name.equals(neighbor)) entry.weight = weight;
+       }
+   }
+   // Returns the id of the node, registering it on first use
+   private int idOf(String node) {
+       Integer id = nodeIds.get(node);
+       if (id == null) {
+           id = connectivity.addNode();
+           nodeIds.put(node, id);
+           nodeNames.add(node);
+       }
+       return id;
    }
    public Map<String, List<Node>> getAdjacencyList() {
        return adjacencyList;
    }
    public void disableNode(String node) {
        if (adjacencyList.containsKey(node)) {
-           disabledNodes.add(node);
+           connectivity.disableNode(nodeIds.get(node));
+           if (pathCache != null) pathCache.invalidate(nodeIds.get(node));
+       } else {
+           System.out.println("Node '" + node + "' does not exist in the network.");
+       }
+   }
+   public void enableNode(String node) {
+       if (adjacencyList.containsKey(node)) {
+           connectivity.enableNode(nodeIds.get(node));
+           if (pathCache != null) pathCache.invalidateAll();
        } else {
            System.out.println("Node '" + node + "' does not exist in the network.");
        }
    }
    public void disableLink(String node1, String node2) {
        if (adjacencyList.containsKey(node1) && adjacencyList.containsKey(node2)) {
-           disabledLinks.add(node1 + "-" + node2);
-           disabledLinks.add(node2 + "-" + node1);
+           int link = connectivity.linkId(nodeIds.get(node1), nodeIds.get(node2));
+           if (link >= 0) {
+               connectivity.disableLink(link);
+               if (pathCache != null) pathCache.invalidate(linkElement(link));
+           }
+       } else {
+           System.out.println("One or both nodes do not exist: " + node1 + ", " + node2);
+       }
+   }
+   public void enableLink(String node1, String node2) {
+       if (adjacencyList.containsKey(node1) && adjacencyList.containsKey(node2)) {
+           int link = connectivity.linkId(nodeIds.get(node1), nodeIds.get(node2));
+           if (link >= 0) {
+               connectivity.enableLink(link);
+               if (pathCache != null) pathCache.invalidateAll();
+           }
        } else {
            System.out.println("One or both nodes do not exist: " + node1 + ", " + node2);
        }
    }
    // Method to visualize the current network topology
    public void visualize() {
+       Set<String> disabledNodes = new HashSet<>();
+       Set<String> disabledLinks = new HashSet<>();
+       for (int u = 0; u < connectivity.nodeCount(); u++) {
+           if (!connectivity.isNodeEnabled(u)) disabledNodes.add(nodeNames.get(u));
+       }
+       for (int link = 0; link < connectivity.linkCount(); link++) {
+           if (connectivity.isLinkEnabled(link)) continue;
+           String node1 = nodeNames.get(connectivity.linkSource(link));
+           String node2 = nodeNames.get(connectivity.linkTarget(link));
+           disabledLinks.add(node1 + "-" + node2);
+           disabledLinks.add(node2 + "-" + node1);
+       }
        CS.visualizeNetwork(adjacencyList, disabledNodes, disabledLinks);
    }
-   // Calculate reachability percentage after disabling certain nodes and links
+   // Reachability percentage after disabling certain nodes and links, read from the
+   // incrementally maintained component sizes
    public double calculateReachability(String startNode) {
-       if (!adjacencyList.containsKey(startNode) || disabledNodes.contains(startNode)) {
+       Integer start = nodeIds.get(startNode);
+       if (start == null || !connectivity.isNodeEnabled(start)) {
            System.out.println("Start node is invalid or disabled.");
            return 0.0;
        }
-       Set<String> visited = new HashSet<>();
-       Queue<String> queue = new LinkedList<>();
-       queue.add(startNode);
-       visited.add(startNode);
-       while (!queue.isEmpty()) {
-           String current = queue.poll();
-           for (Node neighbor : adjacencyList.getOrDefault(current, Collections.emptyList())) {
-               if (!visited.contains(neighbor.name) && !disabledNodes.contains(neighbor.name) &&
-                   !disabledLinks.contains(current + "-" + neighbor.name)) {
-                   visited.add(neighbor.name);
-                   queue.add(neighbor.name);
-               }
-           }
-       }
-       int reachableNodes = visited.size();
-       int totalNodes = (int) adjacencyList.keySet().stream().filter(node -> !disabledNodes.contains(node)).count();
+       int reachableNodes = connectivity.componentSize(start);
+       int totalNodes = connectivity.activeNodeCount();
        return (totalNodes > 0) ? (reachableNodes / (double) totalNodes) * 100 : 0.0;
    }
-   // Calculate redundancy by counting alternative paths using DFS
+   // Calculate redundancy as the number of edge-disjoint paths (max flow)
    public int calculatePathRedundancy(String startNode, String endNode) {
        if (!adjacencyList.containsKey(startNode) || !adjacencyList.containsKey(endNode)) {
            System.out.println("One or both nodes do not exist.");
            return 0;
        }
-       return findAllPaths(startNode, endNode).size();
+       return findDisjointPaths(startNode, endNode, false).getPathCount();
    }
-   private List<List<String>> findAllPaths(String startNode, String endNode) {
-       List<List<String>> paths = new ArrayList<>();
-       Set<String> visited = new HashSet<>();
-       findPathsDFS(startNode, endNode, visited, new ArrayList<>(), paths);
-       return paths;
+   // Edge-disjoint or node-disjoint paths that avoid disabled nodes and links
+   public DisjointPathFinder.Result findDisjointPaths(String startNode, String endNode, boolean nodeDisjoint) {
+       if (pathCache == null) return computeDisjointPaths(startNode, endNode, nodeDisjoint);
+       String key = startNode + '\0' + endNode + (nodeDisjoint ? "\0node" : "\0edge");
+       DisjointPathFinder.Result result = pathCache.get(key);
+       if (result == null) {
+           result = computeDisjointPaths(startNode, endNode, nodeDisjoint);
+           pathCache.put(key, result, footprint(result));
+       }
+       return result;
    }
-   private void findPathsDFS(String current, String destination, Set<String> visited, List<String> path, List<List<String>> paths) {
-       visited.add(current);
-       path.add(current);
-       if (current.equals(destination)) {
-           paths.add(new ArrayList<>(path));
-       } else {
-           for (Node neighbor : adjacencyList.getOrDefault(current, Collections.emptyList())) {
-               if (!visited.contains(neighbor.name) && !disabledNodes.contains(neighbor.name) &&
-                   !disabledLinks.contains(current + "-" + neighbor.name)) {
-                   findPathsDFS(neighbor.name, destination, visited, path, paths);
-               }
+   // Node ids and link elements the paths use
+   private long[] footprint(DisjointPathFinder.Result result) {
+       List<Long> elements = new ArrayList<>();
+       for (List<String> path : result.getPaths()) {
+           for (int i = 0; i < path.size(); i++) {
+               int u = nodeIds.get(path.get(i));
+               elements.add((long) u);
+               if (i > 0) elements.add(linkElement(connectivity.linkId(nodeIds.get(path.get(i - 1)), u)));
+           }
+       }
+       long[] ids = new long[elements.size()];
+       for (int i = 0; i < ids.length; i++) ids[i] = elements.get(i);
+       return ids;
+   }
+   // Link ids sit above the node id range in the cache's element space
+   private static long linkElement(int link) {
+       return (1L << 32) | link;
+   }
+   private DisjointPathFinder.Result computeDisjointPaths(String startNode, String endNode, boolean nodeDisjoint) {
+       CsrGraph graph = toCsrGraph();
+       boolean[] nodeOff = new boolean[graph.nodeCount()];
+       boolean[] arcOff = new boolean[graph.arcCount()];
+       for (int u = 0; u < graph.nodeCount(); u++) {
+           nodeOff[u] = !connectivity.isNodeEnabled(u);
+           for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+               arcOff[e] = !connectivity.isLinkEnabled(connectivity.linkId(u, graph.target(e)));
+           }
+       }
+       DisjointPathFinder finder = new DisjointPathFinder(graph, nodeOff, arcOff);
+       int start = graph.idOf(startNode), end = graph.idOf(endNode);
+       return nodeDisjoint ? finder.nodeDisjointPaths(start, end) : finder.edgeDisjointPaths(start, end);
+   }
+   // Copy the adjacency list into a CSR graph (repeated links collapse to one); CSR ids match node ids.
+   // The copy is kept and shared until a connection is added.
+   public CsrGraph toCsrGraph() {
+       if (frozen != null) return frozen;
+       CsrGraph.Builder builder = new CsrGraph.Builder(nodeNames.size(), connectivity.linkCount());
+       for (String node : nodeNames) {
+           builder.addNode(node);
+       }
+       for (Map.Entry<String, List<Node>> entry : adjacencyList.entrySet()) {
+           int u = nodeIds.get(entry.getKey());
+           for (Node neighbor : entry.getValue()) {
+               int v = nodeIds.get(neighbor.name);
+               if (u <= v) builder.addEdge(u, v, neighbor.weight);
            }
        }
-       path.remove(path.size() - 1);
-       visited.remove(current);
+       frozen = builder.build();
+       return frozen;
    }
    public double calculateFaultTolerance(String startNode) {
        double reachability = calculateReachability(startNode);
@@ -0,0 +1,246 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Path redundancy by Menger's theorem: the number of edge-disjoint (or node-disjoint)
+// paths between two nodes equals the max flow with unit capacities. Uses Dinic's algorithm
+// with an explicit stack, so it runs in polynomial time and cannot overflow on long chains.
+class DisjointPathFinder {
+
+    static class Result {
+        final List<List<String>> paths;
+
+        Result(List<List<String>> paths) {
+            this.paths = paths;
+        }
+
+        public int getPathCount() {
+            return paths.size();
+        }
+
+        // Each path lists node names from start to end
+        public List<List<String>> getPaths() {
+            return paths;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final boolean[] disabledNode;
+    private final boolean[] disabledArc;
+
+    // disabledNode is indexed by node id and disabledArc by CSR arc index; either may be null
+    DisjointPathFinder(CsrGraph graph, boolean[] disabledNode, boolean[] disabledArc) {
+        this.graph = graph;
+        this.disabledNode = disabledNode;
+        this.disabledArc = disabledArc;
+    }
+
+    public Result edgeDisjointPaths(int start, int end) {
+        return solve(start, end, false);
+    }
+
+    public Result nodeDisjointPaths(int start, int end) {
+        return solve(start, end, true);
+    }
+
+    private boolean usable(int u, int arc) {
+        int v = graph.target(arc);
+        if (v == u) return false;
+        if (disabledNode != null && disabledNode[v]) return false;
+        return disabledArc == null || !disabledArc[arc];
+    }
+
+    private Result solve(int start, int end, boolean splitNodes) {
+        List<List<String>> paths = new ArrayList<>();
+        if (start < 0 || end < 0) return new Result(paths);
+        if (disabledNode != null && (disabledNode[start] || disabledNode[end])) return new Result(paths);
+        if (start == end) {
+            paths.add(Collections.singletonList(graph.nameOf(start)));
+            return new Result(paths);
+        }
+
+        int n = graph.nodeCount();
+        FlowNetwork net = new FlowNetwork(splitNodes ? 2 * n : n, graph.arcCount() + (splitNodes ? n : 0));
+        int source, sink;
+        if (splitNodes) {
+            // Node v becomes in = 2v and out = 2v + 1 joined by a unit arc; start and end are uncapped
+            for (int v = 0; v < n; v++) {
+                if (disabledNode != null && disabledNode[v]) continue;
+                int cap = (v == start || v == end) ? n : 1;
+                net.addArc(2 * v, 2 * v + 1, cap, 0);
+            }
+            for (int u = 0; u < n; u++) {
+                if (disabledNode != null && disabledNode[u]) continue;
+                for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                    if (usable(u, e)) net.addArc(2 * u + 1, 2 * graph.target(e), 1, 0);
+                }
+            }
+            source = 2 * start + 1;
+            sink = 2 * end;
+        } else {
+            // One residual pair per undirected link, unit capacity in each direction
+            for (int u = 0; u < n; u++) {
+                if (disabledNode != null && disabledNode[u]) continue;
+                for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                    int v = graph.target(e);
+                    if (u < v && usable(u, e)) {
+                        int back = graph.arcOf(v, u);
+                        if (disabledArc == null || !disabledArc[back]) net.addArc(u, v, 1, 1);
+                    }
+                }
+            }
+            source = start;
+            sink = end;
+        }
+
+        net.maxFlow(source, sink);
+        for (int[] vertices : net.decompose(source, sink)) {
+            List<String> path = new ArrayList<>();
+            for (int x : vertices) {
+                // With split nodes only the "in" copy is named, except for the start's "out" copy
+                if (!splitNodes) path.add(graph.nameOf(x));
+                else if ((x & 1) == 0 || x == source) path.add(graph.nameOf(x >> 1));
+            }
+            paths.add(path);
+        }
+        return new Result(paths);
+    }
+
+    // Residual network for unit-capacity Dinic
+    private static class FlowNetwork {
+        private final int nodes;
+        private final int[] head;
+        private int[] next, to, cap, initial;
+        private int arcs;
+        private final int[] level, iter, queue;
+
+        FlowNetwork(int nodes, int expectedArcs) {
+            this.nodes = nodes;
+            head = new int[nodes];
+            Arrays.fill(head, -1);
+            int size = Math.max(2, 2 * expectedArcs);
+            next = new int[size];
+            to = new int[size];
+            cap = new int[size];
+            initial = new int[size];
+            level = new int[nodes];
+            iter = new int[nodes];
+            queue = new int[nodes];
+        }
+
+        // Adds u -> v with capacity c and its reverse v -> u with capacity reverseCap
+        void addArc(int u, int v, int c, int reverseCap) {
+            if (arcs + 2 > to.length) {
+                int size = to.length * 2;
+                next = Arrays.copyOf(next, size);
+                to = Arrays.copyOf(to, size);
+                cap = Arrays.copyOf(cap, size);
+                initial = Arrays.copyOf(initial, size);
+            }
+            to[arcs] = v; cap[arcs] = c; initial[arcs] = c; next[arcs] = head[u]; head[u] = arcs++;
+            to[arcs] = u; cap[arcs] = reverseCap; initial[arcs] = reverseCap; next[arcs] = head[v]; head[v] = arcs++;
+        }
+
+        int maxFlow(int s, int t) {
+            int flow = 0;
+            int[] pathArcs = new int[nodes];
+            while (buildLevels(s, t)) {
+                System.arraycopy(head, 0, iter, 0, nodes);
+                int f;
+                while ((f = augment(s, t, pathArcs)) > 0) flow += f;
+            }
+            return flow;
+        }
+
+        private boolean buildLevels(int s, int t) {
+            Arrays.fill(level, -1);
+            int qh = 0, qt = 0;
+            queue[qt++] = s;
+            level[s] = 0;
+            while (qh < qt) {
+                int u = queue[qh++];
+                for (int a = head[u]; a >= 0; a = next[a]) {
+                    if (cap[a] > 0 && level[to[a]] < 0) {
+                        level[to[a]] = level[u] + 1;
+                        queue[qt++] = to[a];
+                    }
+                }
+            }
+            return level[t] >= 0;
+        }
+
+        // Finds one s-t path in the level graph with an explicit stack and pushes one unit along it
+        private int augment(int s, int t, int[] pathArcs) {
+            int depth = 0;
+            int u = s;
+            while (true) {
+                if (u == t) {
+                    for (int i = 0; i < depth; i++) {
+                        cap[pathArcs[i]]--;
+                        cap[pathArcs[i] ^ 1]++;
+                    }
+                    return 1;
+                }
+                boolean advanced = false;
+                for (int a = iter[u]; a >= 0; a = iter[u] = next[a]) {
+                    int v = to[a];
+                    if (cap[a] > 0 && level[v] == level[u] + 1) {
+                        pathArcs[depth++] = a;
+                        u = v;
+                        advanced = true;
+                        break;
+                    }
+                }
+                if (advanced) continue;
+                // Dead end: prune this node from the level graph and step back
+                level[u] = -1;
+                if (depth == 0) return 0;
+                int a = pathArcs[--depth];
+                u = to[a ^ 1];
+                iter[u] = next[a];
+            }
+        }
+
+        // Splits the final flow into simple s-t paths, dropping any flow cycles
+        List<int[]> decompose(int s, int t) {
+            int[] flow = new int[arcs];
+            for (int a = 0; a < arcs; a++) flow[a] = initial[a] - cap[a];
+            List<int[]> result = new ArrayList<>();
+            int[] onPath = new int[nodes];
+            Arrays.fill(onPath, -1);
+            int[] vertices = new int[nodes + 1];
+            while (true) {
+                int len = 0;
+                vertices[len++] = s;
+                onPath[s] = 0;
+                int u = s;
+                while (u != t) {
+                    int chosen = -1;
+                    for (int a = head[u]; a >= 0; a = next[a]) {
+                        if (flow[a] > 0) {
+                            chosen = a;
+                            break;
+                        }
+                    }
+                    if (chosen < 0) break;
+                    flow[chosen]--;
+                    flow[chosen ^ 1]++;
+                    int v = to[chosen];
+                    if (onPath[v] >= 0) {
+                        // Cut the loop out of the walk
+                        for (int i = onPath[v] + 1; i < len; i++) onPath[vertices[i]] = -1;
+                        len = onPath[v] + 1;
+                    } else {
+                        onPath[v] = len;
+                        vertices[len++] = v;
+                    }
+                    u = v;
+                }
+                for (int i = 0; i < len; i++) onPath[vertices[i]] = -1;
+                if (u != t) break;
+                result.add(Arrays.copyOf(vertices, len));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Connected components kept up to date while nodes and links are disabled and re-enabled.
+// Node and link state are bitsets indexed by id. Enabling merges two components by relabelling
+// the smaller one; disabling runs two interleaved searches from the endpoints and stops as soon
+// as they meet or one side runs out. When the removal splits a component, the work is bounded
+// by the smaller side; when it does not (e.g. a link on a long cycle), the searches run until
+// they meet, which can take time proportional to the whole component.
+// Component sizes are then available in O(1) for reachability queries.
+class DynamicConnectivity {
+    private int nodeCount, linkCount;
+    private int[][] adj = new int[16][];      // neighbor ids per node
+    private int[][] adjLink = new int[16][];  // link id of each neighbor entry
+    private int[] degree = new int[16];
+    private int[] linkU = new int[16], linkV = new int[16];
+    private long[] nodeOff = new long[1];
+    private long[] linkOff = new long[1];
+    private final Map<Long, Integer> linkIds = new HashMap<>();
+
+    private int[] comp = new int[16];         // component label per node, -1 when disabled
+    private int[] compSize = new int[16];
+    private int[] freeLabels = new int[16];
+    private int freeCount, labelCount;
+    private int activeNodes;
+
+    // Scratch for the interleaved searches, invalidated with an epoch instead of clearing
+    private int[] seenA = new int[16], seenB = new int[16];
+    private int[] queueA = new int[16], queueB = new int[16];
+    private int epoch;
+
+    public int addNode() {
+        int u = nodeCount++;
+        if (u == degree.length) {
+            int cap = u * 2;
+            adj = Arrays.copyOf(adj, cap);
+            adjLink = Arrays.copyOf(adjLink, cap);
+            degree = Arrays.copyOf(degree, cap);
+            comp = Arrays.copyOf(comp, cap);
+            seenA = Arrays.copyOf(seenA, cap);
+            seenB = Arrays.copyOf(seenB, cap);
+            queueA = new int[cap];
+            queueB = new int[cap];
+        }
+        if ((u >> 6) >= nodeOff.length) nodeOff = Arrays.copyOf(nodeOff, nodeOff.length * 2);
+        adj[u] = new int[4];
+        adjLink[u] = new int[4];
+        comp[u] = newLabel(1);
+        activeNodes++;
+        return u;
+    }
+
+    // Adds a link and returns its id; a repeated pair returns the existing id
+    public int addLink(int u, int v) {
+        Integer existing = linkIds.get(pairKey(u, v));
+        if (existing != null) return existing;
+        int id = linkCount++;
+        if (id == linkU.length) {
+            linkU = Arrays.copyOf(linkU, id * 2);
+            linkV = Arrays.copyOf(linkV, id * 2);
+        }
+        if ((id >> 6) >= linkOff.length) linkOff = Arrays.copyOf(linkOff, linkOff.length * 2);
+        linkU[id] = u;
+        linkV[id] = v;
+        linkIds.put(pairKey(u, v), id);
+        append(u, v, id);
+        if (u != v) append(v, u, id);
+        if (isNodeEnabled(u) && isNodeEnabled(v)) merge(u, v);
+        return id;
+    }
+
+    // Returns the id of the u - v link, or -1 if the nodes are not linked
+    public int linkId(int u, int v) {
+        Integer id = linkIds.get(pairKey(u, v));
+        return id == null ? -1 : id;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int linkCount() {
+        return linkCount;
+    }
+
+    public int linkSource(int id) {
+        return linkU[id];
+    }
+
+    public int linkTarget(int id) {
+        return linkV[id];
+    }
+
+    public boolean isNodeEnabled(int u) {
+        return (nodeOff[u >> 6] & (1L << u)) == 0;
+    }
+
+    public boolean isLinkEnabled(int id) {
+        return (linkOff[id >> 6] & (1L << id)) == 0;
+    }
+
+    public int activeNodeCount() {
+        return activeNodes;
+    }
+
+    // Number of enabled nodes reachable from u (including u), 0 if u is disabled
+    public int componentSize(int u) {
+        return isNodeEnabled(u) ? compSize[comp[u]] : 0;
+    }
+
+    public boolean connected(int u, int v) {
+        return isNodeEnabled(u) && isNodeEnabled(v) && comp[u] == comp[v];
+    }
+
+    public void disableLink(int id) {
+        if (!isLinkEnabled(id)) return;
+        linkOff[id >> 6] |= 1L << id;
+        int u = linkU[id], v = linkV[id];
+        if (u != v && isNodeEnabled(u) && isNodeEnabled(v)) separate(u, v);
+    }
+
+    public void enableLink(int id) {
+        if (isLinkEnabled(id)) return;
+        linkOff[id >> 6] &= ~(1L << id);
+        int u = linkU[id], v = linkV[id];
+        if (isNodeEnabled(u) && isNodeEnabled(v)) merge(u, v);
+    }
+
+    public void disableNode(int u) {
+        if (!isNodeEnabled(u)) return;
+        int label = comp[u];
+        nodeOff[u >> 6] |= 1L << u;
+        comp[u] = -1;
+        activeNodes--;
+        compSize[label]--;
+        // Neighbors that may now sit in different pieces of the old component
+        int[] candidates = new int[degree[u]];
+        int count = 0;
+        for (int k = 0; k < degree[u]; k++) {
+            int w = adj[u][k];
+            if (w != u && isLinkEnabled(adjLink[u][k]) && isNodeEnabled(w)) candidates[count++] = w;
+        }
+        if (compSize[label] == 0) releaseLabel(label);
+        // Each search either proves two candidates connected or splits one piece off
+        while (count > 1) {
+            if (!separate(candidates[count - 1], candidates[count - 2])) {
+                count--;
+                continue;
+            }
+            // Drop candidates that moved to the new piece; the rest may still need splitting
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (comp[candidates[i]] == label) candidates[kept++] = candidates[i];
+            }
+            count = kept;
+        }
+    }
+
+    public void enableNode(int u) {
+        if (isNodeEnabled(u)) return;
+        nodeOff[u >> 6] &= ~(1L << u);
+        comp[u] = newLabel(1);
+        activeNodes++;
+        for (int k = 0; k < degree[u]; k++) {
+            int w = adj[u][k];
+            if (w != u && isLinkEnabled(adjLink[u][k]) && isNodeEnabled(w)) merge(u, w);
+        }
+    }
+
+    private void append(int u, int v, int id) {
+        if (degree[u] == adj[u].length) {
+            adj[u] = Arrays.copyOf(adj[u], degree[u] * 2);
+            adjLink[u] = Arrays.copyOf(adjLink[u], degree[u] * 2);
+        }
+        adj[u][degree[u]] = v;
+        adjLink[u][degree[u]++] = id;
+    }
+
+    // Joins the components of u and v by relabelling the smaller one
+    private void merge(int u, int v) {
+        int lu = comp[u], lv = comp[v];
+        if (lu == lv) return;
+        if (compSize[lu] > compSize[lv]) {
+            int t = u; u = v; v = t;
+            t = lu; lu = lv; lv = t;
+        }
+        nextEpoch();
+        int head = 0, tail = 0;
+        queueA[tail++] = u;
+        seenA[u] = epoch;
+        while (head < tail) {
+            int x = queueA[head++];
+            comp[x] = lv;
+            for (int k = 0; k < degree[x]; k++) {
+                int w = adj[x][k];
+                if (seenA[w] != epoch && comp[w] == lu && isLinkEnabled(adjLink[x][k]) && isNodeEnabled(w)) {
+                    seenA[w] = epoch;
+                    queueA[tail++] = w;
+                }
+            }
+        }
+        compSize[lv] += compSize[lu];
+        releaseLabel(lu);
+    }
+
+    // After a removal, checks whether a and b (same label) are still connected. If not, the side
+    // whose search finished first gets a fresh label and true is returned.
+    private boolean separate(int a, int b) {
+        nextEpoch();
+        int headA = 0, tailA = 0, headB = 0, tailB = 0;
+        queueA[tailA++] = a;
+        seenA[a] = epoch;
+        queueB[tailB++] = b;
+        seenB[b] = epoch;
+        while (true) {
+            if (headA == tailA) {
+                split(queueA, tailA, comp[a]);
+                return true;
+            }
+            if (headB == tailB) {
+                split(queueB, tailB, comp[b]);
+                return true;
+            }
+            int x = queueA[headA++];
+            for (int k = 0; k < degree[x]; k++) {
+                int w = adj[x][k];
+                if (seenA[w] == epoch || !isLinkEnabled(adjLink[x][k]) || !isNodeEnabled(w)) continue;
+                if (seenB[w] == epoch) return false;
+                seenA[w] = epoch;
+                queueA[tailA++] = w;
+            }
+            int y = queueB[headB++];
+            for (int k = 0; k < degree[y]; k++) {
+                int w = adj[y][k];
+                if (seenB[w] == epoch || !isLinkEnabled(adjLink[y][k]) || !isNodeEnabled(w)) continue;
+                if (seenA[w] == epoch) return false;
+                seenB[w] = epoch;
+                queueB[tailB++] = w;
+            }
+        }
+    }
+
+    private void split(int[] members, int size, int oldLabel) {
+        int label = newLabel(size);
+        for (int i = 0; i < size; i++) comp[members[i]] = label;
+        compSize[oldLabel] -= size;
+    }
+
+    private int newLabel(int size) {
+        int label;
+        if (freeCount > 0) {
+            label = freeLabels[--freeCount];
+        } else {
+            label = labelCount++;
+            if (label == compSize.length) compSize = Arrays.copyOf(compSize, label * 2);
+        }
+        compSize[label] = size;
+        return label;
+    }
+
+    private void releaseLabel(int label) {
+        if (freeCount == freeLabels.length) freeLabels = Arrays.copyOf(freeLabels, freeCount * 2);
+        freeLabels[freeCount++] = label;
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(seenA, 0);
+            Arrays.fill(seenB, 0);
+            epoch = 1;
+        }
+    }
+
+    private static long pairKey(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+}
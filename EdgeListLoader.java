@@ -0,0 +1,277 @@
+package mini_proj_dsa;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Non-interactive loader for edge-list and CSV topology files: one link per line as
+// "node1 node2 [weight]", separated by spaces, tabs or commas. Blank lines and lines starting
+// with '#' are skipped, as is a CSV header: a first line whose two node columns are named from
+// HEADER_NAMES (e.g. "source,target" or "from to weight"). Any other header reads as a link or
+// fails on its weight column, and has to be commented out with '#'.
+// The file is memory-mapped and split at line boundaries into chunks that are parsed in
+// parallel. Node names are interned per chunk straight from the mapped bytes, so a String is
+// created only once per distinct name when the chunks are merged into one CsrGraph.
+class EdgeListLoader {
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final long MAX_CHUNK = 1L << 30;
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final Set<String> HEADER_NAMES = Set.of("source", "target", "src", "dst", "from", "to", "node1", "node2");
+
+    public static CsrGraph load(Path file) throws IOException {
+        return load(file, ForkJoinPool.commonPool());
+    }
+
+    public static CsrGraph load(Path file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size, pool.getParallelism());
+            List<Callable<Chunk>> tasks = new ArrayList<>();
+            for (int c = 0; c + 1 < bounds.length; c++) {
+                long start = bounds[c], end = bounds[c + 1];
+                boolean first = c == 0;
+                tasks.add(() -> {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    Chunk chunk = new Chunk(buffer, start);
+                    chunk.parse(first);
+                    return chunk;
+                });
+            }
+            List<Chunk> chunks = new ArrayList<>();
+            for (Future<Chunk> f : pool.invokeAll(tasks)) {
+                chunks.add(f.get());
+            }
+            return merge(chunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Loading interrupted: " + file, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // ForkJoinPool may rethrow a copy of a task's exception that wraps the original
+            while (cause.getCause() != null && cause.getCause().getClass() == cause.getClass()) cause = cause.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof IllegalArgumentException) throw (IllegalArgumentException) cause;
+            throw new IOException("Failed to load " + file + ": " + cause, cause);
+        }
+    }
+
+    // Splits the file into chunks that end just after a newline
+    private static long[] chunkBounds(FileChannel channel, long size, int parallelism) throws IOException {
+        long chunk = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / (4L * Math.max(1, parallelism))));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = 0;
+        while (pos + chunk < size) {
+            long probe = pos + chunk;
+            long end = -1;
+            while (end < 0 && probe < size) {
+                long window = Math.min(1 << 16, size - probe);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, probe, window);
+                for (int i = 0; i < window; i++) {
+                    if (buffer.get(i) == '\n') {
+                        end = probe + i + 1;
+                        break;
+                    }
+                }
+                probe += window;
+            }
+            if (end < 0 || end >= size) break;
+            bounds.add(end);
+            pos = end;
+        }
+        bounds.add(size);
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++) out[i] = bounds.get(i);
+        return out;
+    }
+
+    private static CsrGraph merge(List<Chunk> chunks) {
+        int totalLinks = 0;
+        for (Chunk chunk : chunks) totalLinks += chunk.linkCount;
+        CsrGraph.Builder builder = new CsrGraph.Builder(chunks.isEmpty() ? 1 : chunks.get(0).nameCount, totalLinks);
+        for (Chunk chunk : chunks) {
+            // One String per distinct name in the chunk, then remap local ids to global ones
+            int[] global = new int[chunk.nameCount];
+            for (int local = 0; local < chunk.nameCount; local++) {
+                global[local] = builder.addNode(chunk.nameAt(local));
+            }
+            for (int i = 0; i < chunk.linkCount; i++) {
+                builder.addEdge(global[chunk.src[i]], global[chunk.dst[i]], chunk.weight[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    // Parses one mapped region into local node ids and primitive link arrays
+    private static class Chunk {
+        final MappedByteBuffer buffer;
+        final long fileOffset;
+        int[] src = new int[1024], dst = new int[1024], weight = new int[1024];
+        int linkCount;
+        // Open-addressing table over name byte ranges in the buffer
+        int[] table = new int[1 << 12];
+        int[] nameStart = new int[1024], nameLength = new int[1024], nameHash = new int[1024];
+        int nameCount;
+
+        Chunk(MappedByteBuffer buffer, long fileOffset) {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+        }
+
+        String nameAt(int local) {
+            byte[] bytes = new byte[nameLength[local]];
+            buffer.get(nameStart[local], bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void parse(boolean firstChunk) {
+            int limit = buffer.limit();
+            int pos = 0;
+            boolean firstLine = firstChunk;
+            while (pos < limit) {
+                int lineStart = pos;
+                while (pos < limit && buffer.get(pos) != '\n') pos++;
+                int lineEnd = pos;
+                pos++;
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') lineEnd--;
+                parseLine(lineStart, lineEnd, firstLine);
+                firstLine = false;
+            }
+        }
+
+        private void parseLine(int start, int end, boolean firstLine) {
+            int p = skipSeparators(start, end);
+            if (p >= end || buffer.get(p) == '#') return;
+            int aStart = p;
+            p = tokenEnd(p, end);
+            int aEnd = p;
+            p = skipSeparators(p, end);
+            int bStart = p;
+            p = tokenEnd(p, end);
+            int bEnd = p;
+            if (bStart >= bEnd) {
+                throw new IllegalArgumentException("Expected 'node1 node2 [weight]' at byte " + (fileOffset + start));
+            }
+            p = skipSeparators(p, end);
+            boolean header = firstLine && isHeaderName(aStart, aEnd) && isHeaderName(bStart, bEnd);
+            int w = DEFAULT_WEIGHT;
+            if (p < end) {
+                int wEnd = tokenEnd(p, end);
+                long parsed = parseInt(p, wEnd);
+                if (parsed == Long.MIN_VALUE) {
+                    if (header) return;
+                    throw new IllegalArgumentException("Invalid weight at byte " + (fileOffset + p)
+                            + (firstLine ? " (comment out a header line with '#')" : ""));
+                }
+                w = (int) parsed;
+            } else if (header) {
+                return;
+            }
+            int u = intern(aStart, aEnd);
+            int v = intern(bStart, bEnd);
+            if (linkCount == src.length) {
+                int cap = linkCount * 2;
+                src = Arrays.copyOf(src, cap);
+                dst = Arrays.copyOf(dst, cap);
+                weight = Arrays.copyOf(weight, cap);
+            }
+            src[linkCount] = u;
+            dst[linkCount] = v;
+            weight[linkCount++] = w;
+        }
+
+        private boolean isHeaderName(int start, int end) {
+            if (end - start > 6) return false;
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return HEADER_NAMES.contains(new String(bytes, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT));
+        }
+
+        private int skipSeparators(int p, int end) {
+            while (p < end) {
+                byte b = buffer.get(p);
+                if (b != ' ' && b != '\t' && b != ',') break;
+                p++;
+            }
+            return p;
+        }
+
+        private int tokenEnd(int p, int end) {
+            while (p < end) {
+                byte b = buffer.get(p);
+                if (b == ' ' || b == '\t' || b == ',') break;
+                p++;
+            }
+            return p;
+        }
+
+        // Parses a decimal int, or returns Long.MIN_VALUE if the token is not one
+        private long parseInt(int p, int end) {
+            boolean negative = false;
+            if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+                negative = buffer.get(p) == '-';
+                p++;
+            }
+            if (p >= end) return Long.MIN_VALUE;
+            long value = 0;
+            for (; p < end; p++) {
+                int d = buffer.get(p) - '0';
+                if (d < 0 || d > 9) return Long.MIN_VALUE;
+                value = value * 10 + d;
+                if (value > Integer.MAX_VALUE + 1L) return Long.MIN_VALUE;
+            }
+            value = negative ? -value : value;
+            return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+        }
+
+        private int intern(int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) hash = 31 * hash + buffer.get(i);
+            int mask = table.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (true) {
+                int entry = table[slot];
+                if (entry == 0) break;
+                int id = entry - 1;
+                if (nameHash[id] == hash && sameBytes(nameStart[id], nameLength[id], start, end)) return id;
+                slot = (slot + 1) & mask;
+            }
+            int id = nameCount++;
+            if (id == nameStart.length) {
+                int cap = id * 2;
+                nameStart = Arrays.copyOf(nameStart, cap);
+                nameLength = Arrays.copyOf(nameLength, cap);
+                nameHash = Arrays.copyOf(nameHash, cap);
+            }
+            nameStart[id] = start;
+            nameLength[id] = end - start;
+            nameHash[id] = hash;
+            table[slot] = id + 1;
+            if (nameCount * 2 > table.length) rehash();
+            return id;
+        }
+
+        private boolean sameBytes(int aStart, int aLength, int bStart, int bEnd) {
+            if (aLength != bEnd - bStart) return false;
+            for (int i = 0; i < aLength; i++) {
+                if (buffer.get(aStart + i) != buffer.get(bStart + i)) return false;
+            }
+            return true;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int id = 0; id < nameCount; id++) {
+                int hash = nameHash[id];
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                table[slot] = id + 1;
+            }
+        }
+    }
+}
@@ -3,105 +3,301 @@ package mini_proj_dsa;
 import java.util.*;
 
 
+// Adjacency storage picks its layout from the link density. Sparse networks keep a sorted
+// neighbor array per node; once links fill more than about 1/32 of the matrix, every row
+// becomes a packed long[] bitset, which is 32 times smaller than an int matrix. Scans of a
+// dense row then handle 64 nodes per word.
 class FaultToleranceCalculator {
-private int[][] adjacencyMatrix;
+private static final int DENSE_RATIO = 2; // bitsets once arcs exceed DENSE_RATIO * nodes * words per row
 private int nodeCount;
+private int words;          // longs per bitset row
+private long[][] bitRows;   // dense mode: bit v of row u is set when u and v are linked
+private int[][] neighbors;  // sparse mode: neighbors[u][0 .. degree[u]) sorted ascending
+private int[] degree;       // links of each node, a self loop counted once
+private long arcCount;      // sum of all degrees
+private int activeCount;    // nodes with at least one link
+private CsrGraph frozen; // Shared by the CSR analyses until a link changes
 public FaultToleranceCalculator() {
 	
 }
 public FaultToleranceCalculator(int nodeCount) {
     this.nodeCount = nodeCount;
-    adjacencyMatrix = new int[nodeCount][nodeCount];
+    words = (nodeCount + 63) >>> 6;
+    degree = new int[nodeCount];
+    neighbors = new int[nodeCount][];
+}
+// Adapter over a graph that is already loaded: the rows get its links, and the CSR analyses
+// run on the caller's graph itself instead of a copy
+public FaultToleranceCalculator(CsrGraph graph) {
+    this(graph.nodeCount());
+    if (graph.arcCount() > (long) DENSE_RATIO * nodeCount * words) {
+        bitRows = new long[nodeCount][words];
+        neighbors = null;
+    }
+    for (int u = 0; u < nodeCount; u++) {
+        int from = graph.firstArc(u), len = graph.endArc(u) - from;
+        if (bitRows != null) {
+            for (int e = from; e < from + len; e++) bitRows[u][graph.target(e) >>> 6] |= 1L << graph.target(e);
+        } else if (len > 0) {
+            // CSR rows are already sorted and free of repeats
+            neighbors[u] = Arrays.copyOfRange(graph.targets(), from, from + len);
+        }
+        degree[u] = len;
+        arcCount += len;
+        if (len > 0) activeCount++;
+    }
+    frozen = graph;
 }
 // Add a link between nodes
 public void addLink(int node1, int node2) {
-    adjacencyMatrix[node1][node2] = 1;
-    adjacencyMatrix[node2][node1] = 1;
+    frozen = null;
+    set(node1, node2);
+    set(node2, node1);
+}
+// Whether the rows are packed bitsets rather than neighbor arrays
+public boolean isDense() {
+    return bitRows != null;
+}
+// Approximate heap footprint of the adjacency rows
+public long storageBytes() {
+    if (bitRows != null) return (long) nodeCount * (16 + 8L * words);
+    long bytes = 16L * nodeCount;
+    for (int[] row : neighbors) {
+        if (row != null) bytes += 16 + 4L * row.length;
+    }
+    return bytes;
+}
+public boolean isLinked(int node1, int node2) {
+    if (bitRows != null) return (bitRows[node1][node2 >>> 6] & (1L << node2)) != 0;
+    int[] row = neighbors[node1];
+    return row != null && Arrays.binarySearch(row, 0, degree[node1], node2) >= 0;
+}
+private void set(int u, int v) {
+    if (bitRows != null) {
+        long mask = 1L << v;
+        if ((bitRows[u][v >>> 6] & mask) != 0) return;
+        bitRows[u][v >>> 6] |= mask;
+    } else {
+        int[] row = neighbors[u];
+        int d = degree[u];
+        int at = row == null ? -1 : Arrays.binarySearch(row, 0, d, v);
+        if (at >= 0) return;
+        at = -at - 1;
+        if (row == null) {
+            row = neighbors[u] = new int[4];
+        } else if (d == row.length) {
+            row = neighbors[u] = Arrays.copyOf(row, d * 2);
+        }
+        System.arraycopy(row, at, row, at + 1, d - at);
+        row[at] = v;
+    }
+    if (degree[u]++ == 0) activeCount++;
+    if (++arcCount > (long) DENSE_RATIO * nodeCount * words && bitRows == null) toDense();
+}
+private void clear(int u, int v) {
+    if (bitRows != null) {
+        long mask = 1L << v;
+        if ((bitRows[u][v >>> 6] & mask) == 0) return;
+        bitRows[u][v >>> 6] &= ~mask;
+    } else {
+        int[] row = neighbors[u];
+        int d = degree[u];
+        int at = row == null ? -1 : Arrays.binarySearch(row, 0, d, v);
+        if (at < 0) return;
+        System.arraycopy(row, at + 1, row, at, d - at - 1);
+    }
+    if (--degree[u] == 0) activeCount--;
+    arcCount--;
+}
+// Dense enough that bitset rows take less memory than neighbor arrays
+private void toDense() {
+    bitRows = new long[nodeCount][words];
+    for (int u = 0; u < nodeCount; u++) {
+        int[] row = neighbors[u];
+        for (int k = 0; k < degree[u]; k++) bitRows[u][row[k] >>> 6] |= 1L << row[k];
+        neighbors[u] = null;
+    }
+    neighbors = null;
 }
 // Print the adjacency matrix
 public void printAdjacencyMatrix() {
     System.out.println("Adjacency Matrix:");
+    StringBuilder line = new StringBuilder(2 * nodeCount);
     for (int i = 0; i < nodeCount; i++) {
+        line.setLength(0);
         for (int j = 0; j < nodeCount; j++) {
-            System.out.print(adjacencyMatrix[i][j] + " ");
+            line.append(isLinked(i, j) ? "1 " : "0 ");
         }
-        System.out.println();
+        System.out.println(line);
     }
 }
 // Disable a node by removing all its connections
 public void disableNode(int node) {
-  for (int i = 0; i < nodeCount; i++) {
-      adjacencyMatrix[node][i] = 0;
-      adjacencyMatrix[i][node] = 0;
+  frozen = null;
+  for (int v : linksOf(node)) {
+      clear(node, v);
+      clear(v, node);
   }
 }
 // Restore all links of a disabled node
 public void restoreNode(int node, List<Integer> connections) {
+  frozen = null;
   for (int i : connections) {
-      adjacencyMatrix[node][i] = 1;
-      adjacencyMatrix[i][node] = 1;
+      set(node, i);
+      set(i, node);
   }
 }
-// Check if the network is connected using DFS
-public boolean isNetworkConnected() {
-  boolean[] visited = new boolean[nodeCount];
-  int startNode = findFirstActiveNode();
-  if (startNode == -1) return false; // No active nodes in the network
-  dfs(startNode, visited);
-  // Check if all active nodes were visited
-  for (int i = 0; i < nodeCount; i++) {
-      if (isNodeActive(i) && !visited[i]) {
-          return false; // Found an unvisited active node, network is disconnected
-      }
+// Neighbors of a node in ascending order, including the node itself when it has a self loop
+private int[] linksOf(int node) {
+  if (bitRows == null) {
+      return neighbors[node] == null ? new int[0] : Arrays.copyOf(neighbors[node], degree[node]);
+  }
+  int[] out = new int[degree[node]];
+  int k = 0;
+  long[] row = bitRows[node];
+  for (int w = 0; w < words; w++) {
+      for (long bits = row[w]; bits != 0; bits &= bits - 1) out[k++] = (w << 6) | Long.numberOfTrailingZeros(bits);
   }
-  return true; // Network is connected
+  return out;
 }
-// Perform DFS from a given node
-private void dfs(int node, boolean[] visited) {
-  visited[node] = true;
-  for (int i = 0; i < nodeCount; i++) {
-      if (adjacencyMatrix[node][i] == 1 && !visited[i]) {
-          dfs(i, visited);
+// Check if the network is connected: one search from the first node with a link must reach
+// every node that has a link
+public boolean isNetworkConnected() {
+  return isConnectedWithout(-1, new long[words], new int[nodeCount]);
+}
+// Connectivity of the active nodes once the given node (or none, for -1) loses all its links.
+// The search marks the removed node as visited up front instead of editing the rows.
+private boolean isConnectedWithout(int removed, long[] visited, int[] queue) {
+  int active = activeCount;
+  if (removed >= 0) {
+      if (degree[removed] > 0) active--;
+      // Neighbors whose only link went to the removed node drop out as well
+      for (int v : linksOf(removed)) {
+          if (v != removed && degree[v] == 1) active--;
       }
   }
-}
-// Find the first active node in the network
-private int findFirstActiveNode() {
-  for (int i = 0; i < nodeCount; i++) {
-      if (isNodeActive(i)) return i;
+  if (active == 0) return false; // No active nodes in the network
+  int start = -1;
+  for (int i = 0; i < nodeCount && start < 0; i++) {
+      if (i != removed && degree[i] > (removed >= 0 && degree[i] > 0 && isLinked(i, removed) ? 1 : 0)) start = i;
   }
-  return -1; // No active nodes
-}
-// Check if a node is active (has at least one connection)
-private boolean isNodeActive(int node) {
-  for (int i = 0; i < nodeCount; i++) {
-      if (adjacencyMatrix[node][i] == 1) return true;
+  Arrays.fill(visited, 0);
+  if (removed >= 0) visited[removed >>> 6] |= 1L << removed;
+  visited[start >>> 6] |= 1L << start;
+  int head = 0, tail = 0;
+  queue[tail++] = start;
+  while (head < tail) {
+      int u = queue[head++];
+      if (bitRows != null) {
+          // 64 candidate neighbors per step: the row minus everything already visited
+          long[] row = bitRows[u];
+          for (int w = 0; w < words; w++) {
+              long fresh = row[w] & ~visited[w];
+              if (fresh == 0) continue;
+              visited[w] |= fresh;
+              for (; fresh != 0; fresh &= fresh - 1) queue[tail++] = (w << 6) | Long.numberOfTrailingZeros(fresh);
+          }
+      } else {
+          int[] row = neighbors[u];
+          for (int k = 0; k < degree[u]; k++) {
+              int v = row[k];
+              long mask = 1L << v;
+              if ((visited[v >>> 6] & mask) == 0) {
+                  visited[v >>> 6] |= mask;
+                  queue[tail++] = v;
+              }
+          }
+      }
   }
-  return false;
+  return tail == active;
 }
-// Calculate fault tolerance based on tolerable failures
+// Calculate fault tolerance based on tolerable failures: the share of nodes whose failure
+// leaves the remaining linked nodes connected. Each failure is checked without editing the rows.
+// A failure only changes its own component, so with several components a node is tolerable only
+// when its whole component goes dark with it and exactly one other component is left.
 public double calculateFaultTolerance() {
   int tolerableFailures = 0;
+  int[] component = new int[nodeCount];
+  int[] size = new int[nodeCount + 1];
+  int components = labelComponents(component, size);
+  long[] visited = new long[words];
+  int[] queue = new int[nodeCount];
   for (int i = 0; i < nodeCount; i++) {
-      // Temporarily disable the node
-      List<Integer> connections = new ArrayList<>();
-      for (int j = 0; j < nodeCount; j++) {
-          if (adjacencyMatrix[i][j] == 1) {
-              connections.add(j);
+      boolean tolerable;
+      if (components == 1) {
+          tolerable = isConnectedWithout(i, visited, queue);
+      } else if (components == 2 && degree[i] > 0) {
+          // Every other member of the component must hang off this node alone
+          int leaves = 0;
+          for (int v : linksOf(i)) {
+              if (v != i && degree[v] == 1) leaves++;
           }
+          tolerable = leaves == size[component[i]] - 1;
+      } else {
+          tolerable = false;
       }
-      disableNode(i);
-      // Check if the network is still connected
-      if (isNetworkConnected()) {
+      if (tolerable) {
           tolerableFailures++;
       }
-      // Restore the node’s connections
-      restoreNode(i, connections);
   }
   return (double) tolerableFailures / nodeCount;
 }
+// Numbers the components of the linked nodes from 1 and records their sizes; unlinked nodes get 0
+private int labelComponents(int[] component, int[] size) {
+  int count = 0;
+  int[] queue = new int[nodeCount];
+  for (int s = 0; s < nodeCount; s++) {
+      if (degree[s] == 0 || component[s] != 0) continue;
+      int label = ++count;
+      int head = 0, tail = 0;
+      queue[tail++] = s;
+      component[s] = label;
+      while (head < tail) {
+          for (int v : linksOf(queue[head++])) {
+              if (component[v] == 0) {
+                  component[v] = label;
+                  queue[tail++] = v;
+              }
+          }
+      }
+      size[label] = tail;
+  }
+  return count;
+}
+// Linear-time mode: one articulation point pass gives the same ratio as calculateFaultTolerance
+// and the list of critical devices
+public CutVertexAnalyzer.Result analyzeFaultTolerance() {
+  return CutVertexAnalyzer.analyze(toCsrGraph());
+}
+// Copy the links into a CSR graph, nodes are named by their index.
+// The copy is kept and shared until a link changes.
+public CsrGraph toCsrGraph() {
+  if (frozen != null) return frozen;
+  CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, (int) Math.min(Integer.MAX_VALUE, arcCount / 2 + 1));
+  for (int i = 0; i < nodeCount; i++) {
+      builder.addNode(String.valueOf(i));
+  }
+  for (int i = 0; i < nodeCount; i++) {
+      for (int j : linksOf(i)) {
+          if (j >= i) builder.addEdge(i, j, 1);
+      }
+  }
+  frozen = builder.build();
+  return frozen;
+}
+// Monte Carlo reachability when k random nodes fail at once
+public MonteCarloFailureSimulator.Result simulateRandomFailures(int k, long trials, long seed) {
+  return new MonteCarloFailureSimulator(toCsrGraph())
+          .simulate(MonteCarloFailureSimulator.Scenario.randomNodes(k), trials, seed);
+}
+// A full nodeCount x nodeCount 0/1 copy of the links, for small networks only; changes to it
+// do not affect the network
 public int[][] getAdjacencyMatrix() {
-  return adjacencyMatrix;
+  int[][] matrix = new int[nodeCount][nodeCount];
+  for (int i = 0; i < nodeCount; i++) {
+      for (int j : linksOf(i)) matrix[i][j] = 1;
+  }
+  return matrix;
 }
 }
 	public class Fault_Tolerance {
@@ -126,10 +322,20 @@ public int[][] getAdjacencyMatrix() {
 	        }
 	        // Print the adjacency matrix
 	        network.printAdjacencyMatrix();
-	        double faultTolerance = network.calculateFaultTolerance();
-	        System.out.println("Fault tolerance: " + faultTolerance);
+	        CutVertexAnalyzer.Result result = network.analyzeFaultTolerance();
+	        System.out.println("Fault tolerance: " + result.getFaultTolerance());
+	        System.out.println("Critical nodes (cut vertices): " + Arrays.toString(result.getCutVertices()));
+	        System.out.print("Enter the number of simultaneous random node failures to simulate (0 to skip): ");
+	        int k = scanner.nextInt();
+	        if (k > 0) {
+	            MonteCarloFailureSimulator.Result sim = network.simulateRandomFailures(k, 100_000, 42L);
+	            double[] ci = sim.getMeanConfidenceInterval();
+	            System.out.printf("Mean reachability: %.4f (95%% CI %.4f - %.4f)%n", sim.getMeanReachability(), ci[0], ci[1]);
+	            System.out.printf("5th percentile reachability: %.4f, median: %.4f%n", sim.getPercentile(5), sim.getPercentile(50));
+	            System.out.printf("Probability of partition: %.4f%n", sim.getPartitionProbability());
+	        }
 	        // Visualize the graph
-	        GraphVisualizer.visualize(network.getAdjacencyMatrix(), nodeCount);
+	        GraphVisualizer.visualize(network.toCsrGraph());
 	        scanner.close();
 	    }
 	}
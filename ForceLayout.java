@@ -0,0 +1,464 @@
+package mini_proj_dsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Force-directed layout (Fruchterman and Reingold): linked nodes pull together like springs and
+// every pair of nodes pushes apart. The pairwise push is approximated with a Barnes-Hut
+// quadtree, treating a far-away square of nodes as one body at its centre of mass, so an
+// iteration costs O(n log n) instead of O(n^2). The tree is rebuilt each iteration into flat
+// arrays and the forces on the nodes are computed in parallel chunks.
+// A cold layout is multilevel (Walshaw): the graph is repeatedly halved by merging matched
+// neighbors, the smallest graph is laid out from random positions, and each finer graph starts
+// from the positions of its merged parents and only needs a short, cool refinement. This avoids
+// the folds a large graph settles into from random positions and costs about two refinements
+// of the full graph. A layout can also warm-start from saved positions (for example a
+// TopologySnapshot layout section) and then only runs the final refinement.
+// start runs the iterations on a background thread and hands copies of the positions to a
+// listener as they improve, so a Swing panel can redraw while the layout settles.
+class ForceLayout {
+    static final float SPACING = 30;            // ideal link length in layout units
+    private static final double THETA = 1.2;     // squares smaller than THETA x their distance count as one body
+    private static final double GRAVITY = 0.02;  // pull towards the centre that keeps components together
+    private static final int MAX_DEPTH = 40;     // deeper squares hold coincident nodes as one body
+    private static final int CHUNK = 1024;       // nodes per parallel task
+    private static final int COLD_ITERATIONS = 300;  // on the smallest graph of a cold layout
+    private static final int WARM_ITERATIONS = 60;   // per refined level, and for a warm start
+    private static final int COARSEST = 64;          // stop halving at this many nodes
+    private static final double MIN_SHRINK = 0.8;    // or once a level keeps more than this share
+
+    // Receives a private copy of the positions; done is set on the last call
+    interface Listener {
+        void positions(float[] x, float[] y, int iteration, boolean done);
+    }
+
+    // Graph hierarchy in CSR form; level 0 is the input and map[l][u] is u's node at level l + 1
+    private final int[] levelCount;
+    private final int[][] levelOffsets, levelTargets, levelMap;
+    private final Random random;
+    private final int iterations;
+    private int iteration;
+    private volatile boolean stopped;
+
+    // Level being laid out
+    private int level;
+    private int n;
+    private int[] offsets, targets;
+    private float[] x, y, nextX, nextY;
+    private double temperature, cooling;
+    private int levelIteration, levelIterations;
+
+    // Quadtree in flat arrays; the four children of a square are stored next to each other.
+    // sumX and sumY add up the positions in a square while building, then hold its centre of mass.
+    private int[] firstChild = new int[64];
+    private int[] body = new int[64];
+    private double[] mass = new double[64], sumX = new double[64], sumY = new double[64], half = new double[64];
+    private int cells;
+
+    // Cold multilevel layout from seeded random positions
+    ForceLayout(CsrGraph graph, long seed) {
+        this(graph.nodeCount(), graph.offsets(), graph.targets(), null, null, seed);
+    }
+
+    // Warm start from the given positions, which are copied
+    ForceLayout(CsrGraph graph, float[] startX, float[] startY) {
+        this(graph.nodeCount(), graph.offsets(), graph.targets(), startX, startY, 0);
+    }
+
+    // Symmetric adjacency in CSR form: both directions of every link appear in targets
+    ForceLayout(int nodeCount, int[] offsets, int[] targets, float[] startX, float[] startY, long seed) {
+        random = new Random(seed);
+        List<Integer> counts = new ArrayList<>();
+        List<int[]> offsetList = new ArrayList<>(), targetList = new ArrayList<>(), mapList = new ArrayList<>();
+        counts.add(nodeCount);
+        offsetList.add(offsets);
+        targetList.add(targets);
+        if (startX == null) {
+            // Halve the graph until it is small or stops shrinking
+            int count = nodeCount;
+            int[] off = offsets, tgt = targets;
+            while (count > COARSEST) {
+                int[] map = new int[count];
+                int coarse = match(count, off, tgt, map, random);
+                if (coarse > MIN_SHRINK * count) break;
+                int[][] csr = contract(count, off, tgt, map, coarse);
+                mapList.add(map);
+                counts.add(coarse);
+                offsetList.add(off = csr[0]);
+                targetList.add(tgt = csr[1]);
+                count = coarse;
+            }
+        }
+        int levels = counts.size();
+        levelCount = new int[levels];
+        for (int l = 0; l < levels; l++) levelCount[l] = counts.get(l);
+        levelOffsets = offsetList.toArray(new int[0][]);
+        levelTargets = targetList.toArray(new int[0][]);
+        levelMap = mapList.toArray(new int[0][]);
+
+        level = levels - 1;
+        int top = levelCount[level];
+        if (startX != null) {
+            if (startX.length < nodeCount || startY.length < nodeCount) {
+                throw new IllegalArgumentException("Need a start position for every node.");
+            }
+            iterations = WARM_ITERATIONS;
+            beginLevel(Arrays.copyOf(startX, nodeCount), Arrays.copyOf(startY, nodeCount), WARM_ITERATIONS, SPACING);
+        } else {
+            iterations = COLD_ITERATIONS + (levels - 1) * WARM_ITERATIONS;
+            double side = SPACING * Math.sqrt(Math.max(1, top));
+            float[] startXs = new float[top], startYs = new float[top];
+            for (int i = 0; i < top; i++) {
+                startXs[i] = (float) (random.nextDouble() * side);
+                startYs[i] = (float) (random.nextDouble() * side);
+            }
+            // Nodes may cross the whole area at first
+            beginLevel(startXs, startYs, COLD_ITERATIONS, side / 4);
+        }
+    }
+
+    // Symmetric CSR adjacency for a plain list of links, as the visualizer scenes hold them
+    static ForceLayout forLinks(int nodeCount, int[] src, int[] dst, int linkCount, float[] startX, float[] startY) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < linkCount; e++) {
+            if (src[e] == dst[e]) continue;
+            offsets[src[e] + 1]++;
+            offsets[dst[e] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) offsets[u + 1] += offsets[u];
+        int[] fill = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[offsets[nodeCount]];
+        for (int e = 0; e < linkCount; e++) {
+            if (src[e] == dst[e]) continue;
+            targets[fill[src[e]]++] = dst[e];
+            targets[fill[dst[e]]++] = src[e];
+        }
+        return new ForceLayout(nodeCount, offsets, targets, startX, startY, 0);
+    }
+
+    // Pairs each node, in random order, with its unmatched neighbor of lowest degree; returns the merged count
+    private static int match(int n, int[] offsets, int[] targets, int[] map, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        Arrays.fill(map, -1);
+        int coarse = 0;
+        for (int u : order) {
+            if (map[u] >= 0) continue;
+            int best = -1;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v != u && map[v] < 0 && (best < 0 || offsets[v + 1] - offsets[v] < offsets[best + 1] - offsets[best])) best = v;
+            }
+            map[u] = coarse;
+            if (best >= 0) map[best] = coarse;
+            coarse++;
+        }
+        return coarse;
+    }
+
+    // CSR adjacency of the merged graph, without self-links or repeated links
+    private static int[][] contract(int n, int[] offsets, int[] targets, int[] map, int coarse) {
+        int[] memberStart = new int[coarse + 1];
+        for (int u = 0; u < n; u++) memberStart[map[u] + 1]++;
+        for (int c = 0; c < coarse; c++) memberStart[c + 1] += memberStart[c];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(memberStart, coarse);
+        for (int u = 0; u < n; u++) members[fill[map[u]]++] = u;
+
+        int[] seen = new int[coarse];
+        Arrays.fill(seen, -1);
+        int[] coarseOffsets = new int[coarse + 1];
+        int[] coarseTargets = new int[Math.max(1, targets.length / 2)];
+        int arcs = 0;
+        for (int c = 0; c < coarse; c++) {
+            for (int k = memberStart[c]; k < memberStart[c + 1]; k++) {
+                int u = members[k];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = map[targets[e]];
+                    if (d == c || seen[d] == c) continue;
+                    seen[d] = c;
+                    if (arcs == coarseTargets.length) coarseTargets = Arrays.copyOf(coarseTargets, arcs * 2);
+                    coarseTargets[arcs++] = d;
+                }
+            }
+            coarseOffsets[c + 1] = arcs;
+        }
+        return new int[][]{coarseOffsets, Arrays.copyOf(coarseTargets, arcs)};
+    }
+
+    private void beginLevel(float[] startX, float[] startY, int steps, double startTemperature) {
+        n = levelCount[level];
+        offsets = levelOffsets[level];
+        targets = levelTargets[level];
+        x = startX;
+        y = startY;
+        nextX = new float[n];
+        nextY = new float[n];
+        levelIteration = 0;
+        levelIterations = steps;
+        temperature = startTemperature;
+        cooling = Math.pow(Math.min(1, SPACING / 20 / startTemperature), 1.0 / steps);
+    }
+
+    // Places the nodes of the next finer level at their merged node, spread to the finer graph's
+    // larger area and jittered so matched pairs come apart
+    private void refine() {
+        int[] map = levelMap[level - 1];
+        double spread = Math.sqrt(levelCount[level - 1] / (double) levelCount[level]);
+        double cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            cx += x[i];
+            cy += y[i];
+        }
+        cx /= Math.max(1, n);
+        cy /= Math.max(1, n);
+        level--;
+        int fine = levelCount[level];
+        float[] fineX = new float[fine], fineY = new float[fine];
+        for (int u = 0; u < fine; u++) {
+            int c = map[u];
+            fineX[u] = (float) (cx + (x[c] - cx) * spread + (random.nextDouble() - 0.5) * SPACING / 2);
+            fineY[u] = (float) (cy + (y[c] - cy) * spread + (random.nextDouble() - 0.5) * SPACING / 2);
+        }
+        beginLevel(fineX, fineY, WARM_ITERATIONS, SPACING * 2);
+    }
+
+    int iterations() {
+        return iterations;
+    }
+
+    boolean isFinished() {
+        return stopped || (level == 0 && levelIteration >= levelIterations);
+    }
+
+    // Positions of the input graph's nodes; while a coarser level is being laid out every node
+    // sits at the spread-out position of the node it is merged into
+    float[] x() {
+        return project(x);
+    }
+
+    float[] y() {
+        return project(y);
+    }
+
+    private float[] project(float[] coords) {
+        if (level == 0) return coords.clone();
+        double center = 0;
+        for (int i = 0; i < n; i++) center += coords[i];
+        center /= Math.max(1, n);
+        double spread = Math.sqrt(levelCount[0] / (double) levelCount[level]);
+        float[] out = new float[levelCount[0]];
+        for (int u = 0; u < out.length; u++) {
+            int c = u;
+            for (int l = 0; l < level; l++) c = levelMap[l][c];
+            out[u] = (float) (center + (coords[c] - center) * spread);
+        }
+        return out;
+    }
+
+    // Runs every remaining iteration on the calling thread
+    ForceLayout run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    ForceLayout run(ForkJoinPool pool) {
+        while (!isFinished()) step(pool);
+        return this;
+    }
+
+    // Runs the layout on a daemon thread, publishing positions at most every publishMillis
+    ForceLayout start(Listener listener, long publishMillis) {
+        Thread worker = new Thread(() -> {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            long last = System.nanoTime();
+            while (!isFinished()) {
+                step(pool);
+                long now = System.nanoTime();
+                if (now - last >= publishMillis * 1_000_000L && !isFinished()) {
+                    listener.positions(x(), y(), iteration, false);
+                    last = now;
+                }
+            }
+            listener.positions(x(), y(), iteration, true);
+        }, "force-layout");
+        worker.setDaemon(true);
+        worker.start();
+        return this;
+    }
+
+    // Asks a running layout to finish after the current iteration
+    void stop() {
+        stopped = true;
+    }
+
+    // One iteration: rebuild the quadtree, move every node along its net force, cool down
+    void step(ForkJoinPool pool) {
+        if (isFinished()) return;
+        if (n > 0) {
+            buildTree();
+            double cx = sumX[0], cy = sumY[0];
+            double t = temperature;
+            int chunks = (n + CHUNK - 1) / CHUNK;
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> moveChunk(c, cx, cy, t))).join();
+            float[] swap = x;
+            x = nextX;
+            nextX = swap;
+            swap = y;
+            y = nextY;
+            nextY = swap;
+        }
+        temperature *= cooling;
+        iteration++;
+        if (++levelIteration >= levelIterations && level > 0) refine();
+    }
+
+    private void moveChunk(int c, double cx, double cy, double t) {
+        int from = c * CHUNK, to = Math.min(n, from + CHUNK);
+        int[] stack = new int[4 * MAX_DEPTH + 4];
+        double k2 = (double) SPACING * SPACING;
+        for (int i = from; i < to; i++) {
+            double xi = x[i], yi = y[i];
+            double fx = 0, fy = 0;
+            // Repulsion k^2 / d from every other node, far squares taken as a whole
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                double m = mass[cell];
+                if (m == 0 || (body[cell] == i && m == 1)) continue;
+                double dx = xi - sumX[cell], dy = yi - sumY[cell];
+                double d2 = dx * dx + dy * dy;
+                int child = firstChild[cell];
+                if (child >= 0 && 4 * half[cell] * half[cell] >= THETA * THETA * d2) {
+                    stack[top++] = child;
+                    stack[top++] = child + 1;
+                    stack[top++] = child + 2;
+                    stack[top++] = child + 3;
+                    continue;
+                }
+                if (d2 < 1e-6) {
+                    // Coincident nodes: push apart in a direction fixed by the node id
+                    double angle = i * 2.399963;
+                    dx = Math.cos(angle) * 1e-3;
+                    dy = Math.sin(angle) * 1e-3;
+                    d2 = 1e-6;
+                }
+                double f = k2 * m / d2;
+                fx += f * dx;
+                fy += f * dy;
+            }
+            // Attraction d^2 / k along every link
+            for (int e = offsets[i], end = offsets[i + 1]; e < end; e++) {
+                int j = targets[e];
+                double dx = x[j] - xi, dy = y[j] - yi;
+                double d = Math.sqrt(dx * dx + dy * dy);
+                fx += dx * d / SPACING;
+                fy += dy * d / SPACING;
+            }
+            fx -= GRAVITY * (xi - cx) * Math.max(1, offsets[i + 1] - offsets[i]);
+            fy -= GRAVITY * (yi - cy) * Math.max(1, offsets[i + 1] - offsets[i]);
+            // Move at most the current temperature
+            double len = Math.sqrt(fx * fx + fy * fy);
+            double step = len > t ? t / len : 1;
+            nextX[i] = (float) (xi + fx * step);
+            nextY[i] = (float) (yi + fy * step);
+        }
+    }
+
+    private void buildTree() {
+        double x0 = Double.MAX_VALUE, y0 = Double.MAX_VALUE, x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            x0 = Math.min(x0, x[i]);
+            y0 = Math.min(y0, y[i]);
+            x1 = Math.max(x1, x[i]);
+            y1 = Math.max(y1, y[i]);
+        }
+        double size = Math.max(Math.max(x1 - x0, y1 - y0), 1e-3) / 2;
+        double rootX = (x0 + x1) / 2, rootY = (y0 + y1) / 2;
+        cells = 0;
+        newCell(size);
+        for (int i = 0; i < n; i++) insert(i, rootX, rootY, size);
+        for (int c = 0; c < cells; c++) {
+            if (mass[c] > 0) {
+                sumX[c] /= mass[c];
+                sumY[c] /= mass[c];
+            }
+        }
+    }
+
+    private int newCell(double h) {
+        if (cells + 4 > firstChild.length) {
+            int cap = firstChild.length * 2;
+            firstChild = Arrays.copyOf(firstChild, cap);
+            body = Arrays.copyOf(body, cap);
+            mass = Arrays.copyOf(mass, cap);
+            sumX = Arrays.copyOf(sumX, cap);
+            sumY = Arrays.copyOf(sumY, cap);
+            half = Arrays.copyOf(half, cap);
+        }
+        int cell = cells++;
+        firstChild[cell] = -1;
+        body[cell] = -1;
+        mass[cell] = 0;
+        sumX[cell] = 0;
+        sumY[cell] = 0;
+        half[cell] = h;
+        return cell;
+    }
+
+    // Walks down from the root adding the node to every square's mass, splitting the leaf it lands in
+    private void insert(int i, double midX, double midY, double h) {
+        double px = x[i], py = y[i];
+        int cell = 0;
+        for (int depth = 0; ; depth++) {
+            if (firstChild[cell] < 0) {
+                if (mass[cell] == 0) {
+                    body[cell] = i;
+                    add(cell, px, py);
+                    return;
+                }
+                if (depth >= MAX_DEPTH) {
+                    add(cell, px, py);
+                    return;
+                }
+                // Occupied leaf: split it and push its node one level down
+                int old = body[cell];
+                body[cell] = -1;
+                int child = cells;
+                for (int q = 0; q < 4; q++) newCell(h / 2);
+                firstChild[cell] = child;
+                int q = quadrant(x[old], y[old], midX, midY);
+                body[child + q] = old;
+                mass[child + q] = mass[cell];
+                sumX[child + q] = sumX[cell];
+                sumY[child + q] = sumY[cell];
+            }
+            add(cell, px, py);
+            int q = quadrant(px, py, midX, midY);
+            h /= 2;
+            midX += (q & 1) != 0 ? h : -h;
+            midY += (q & 2) != 0 ? h : -h;
+            cell = firstChild[cell] + q;
+        }
+    }
+
+    private void add(int cell, double px, double py) {
+        mass[cell]++;
+        sumX[cell] += px;
+        sumY[cell] += py;
+    }
+
+    private static int quadrant(double px, double py, double midX, double midY) {
+        return (px >= midX ? 1 : 0) | (py >= midY ? 2 : 0);
+    }
+}
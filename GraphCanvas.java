@@ -0,0 +1,639 @@
+package mini_proj_dsa;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+
+// Swing panel that draws a node-link scene through a cached, level-of-detail pipeline.
+// The picture is rendered into a BufferedImage and repaints caused by covering or uncovering the
+// window only copy that image; it is rendered again only when the view, the size or the scene
+// changes. A grid over the nodes and a hierarchy of coarser grids over the links cull everything
+// outside the view. When a frame would hold too many elements, or nodes shrink to a pixel or
+// two, nodes and links are merged per cell at a resolution matched to the zoom, and only the
+// busiest merged lines are drawn, so a frame costs about the same however large the graph is.
+// Drag to pan, turn the mouse wheel to zoom and double-click to fit the whole graph.
+// startLayout moves the nodes with a ForceLayout running in the background, redrawing as it settles.
+class GraphCanvas extends JPanel {
+    static final int NO_LABEL = Integer.MIN_VALUE;
+
+    private static final int DETAIL_LIMIT = 40_000;     // most elements drawn one by one
+    private static final int SMOOTH_LIMIT = 2_000;      // most links drawn antialiased
+    private static final double MIN_DETAIL_RADIUS = 1.5; // on-screen node radius below which cells are merged
+    private static final double LABEL_RADIUS = 6;        // on-screen node radius needed for node labels
+    private static final double WEIGHT_SCALE = 0.6;      // zoom needed for link weight labels
+    private static final int CELL_PIXELS = 4;            // on-screen size of a merged cell
+    private static final int PAIR_BUDGET = 40_000;       // most merged lines per frame
+    private static final int MAX_AXIS_CELLS = 1 << 16;
+    private static final long LAYOUT_PUBLISH_MILLIS = 100;
+
+    // Nodes and styled links in world coordinates; palettes are indexed by the color and style ids
+    static final class Scene {
+        final Color[] nodePalette, edgePalette;
+        int nodeCount, edgeCount;
+        float[] x = new float[16], y = new float[16];
+        byte[] nodeColor = new byte[16];
+        String[] label = new String[16];
+        int[] src = new int[16], dst = new int[16], weight = new int[16];
+        byte[] style = new byte[16];
+        float nodeRadius = 10;
+        Color labelColor = Color.BLACK;
+        float labelDx, labelDy;
+
+        Scene(Color[] nodePalette, Color[] edgePalette) {
+            this.nodePalette = nodePalette;
+            this.edgePalette = edgePalette;
+        }
+
+        Scene nodeRadius(double radius) {
+            nodeRadius = (float) radius;
+            return this;
+        }
+
+        // Label color and offset from the node centre in world units
+        Scene labels(Color color, double dx, double dy) {
+            labelColor = color;
+            labelDx = (float) dx;
+            labelDy = (float) dy;
+            return this;
+        }
+
+        int addNode(double px, double py, String name, int color) {
+            int id = nodeCount++;
+            if (id == x.length) {
+                int cap = id * 2;
+                x = Arrays.copyOf(x, cap);
+                y = Arrays.copyOf(y, cap);
+                nodeColor = Arrays.copyOf(nodeColor, cap);
+                label = Arrays.copyOf(label, cap);
+            }
+            x[id] = (float) px;
+            y[id] = (float) py;
+            label[id] = name;
+            nodeColor[id] = (byte) color;
+            return id;
+        }
+
+        // Links with a higher style are drawn on top; weight NO_LABEL draws no weight
+        void addEdge(int u, int v, int edgeStyle, int edgeWeight) {
+            int id = edgeCount++;
+            if (id == src.length) {
+                int cap = id * 2;
+                src = Arrays.copyOf(src, cap);
+                dst = Arrays.copyOf(dst, cap);
+                weight = Arrays.copyOf(weight, cap);
+                style = Arrays.copyOf(style, cap);
+            }
+            src[id] = u;
+            dst[id] = v;
+            weight[id] = edgeWeight;
+            style[id] = (byte) edgeStyle;
+        }
+    }
+
+    private Scene scene;
+    private Index index;
+    private double scale = 1, tx, ty;
+    private boolean viewSet;
+    private boolean userMoved; // keep the view across scene changes once the user has panned or zoomed
+    private ForceLayout layout;
+    private BufferedImage cache;
+    private boolean cacheValid;
+    private int[] visible = new int[1024];
+    private double clipLo, clipHi;
+
+    GraphCanvas() {
+        MouseAdapter mouse = new MouseAdapter() {
+            private Point last;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                last = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (last == null) return;
+                tx += e.getX() - last.x;
+                ty += e.getY() - last.y;
+                last = e.getPoint();
+                userMoved = true;
+                viewChanged();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(1.15, -e.getPreciseWheelRotation());
+                tx = e.getX() - (e.getX() - tx) * factor;
+                ty = e.getY() - (e.getY() - ty) * factor;
+                scale *= factor;
+                userMoved = true;
+                viewChanged();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitView();
+                    userMoved = false;
+                    viewChanged();
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    GraphCanvas(Scene scene) {
+        this();
+        setScene(scene);
+    }
+
+    // Replaces the picture; it is fitted to the panel until the user pans or zooms
+    void setScene(Scene scene) {
+        this.scene = scene;
+        this.index = new Index(scene);
+        if (!userMoved) viewSet = false;
+        cacheValid = false;
+        repaint();
+    }
+
+    // Moves the scene's nodes to new positions, one per node
+    void setPositions(float[] x, float[] y) {
+        System.arraycopy(x, 0, scene.x, 0, scene.nodeCount);
+        System.arraycopy(y, 0, scene.y, 0, scene.nodeCount);
+        setScene(scene);
+    }
+
+    // Lays the scene out with a ForceLayout on a background thread, redrawing as it settles;
+    // warm refines the current positions instead of starting from scratch
+    ForceLayout startLayout(boolean warm) {
+        stopLayout();
+        Scene s = scene;
+        ForceLayout started = ForceLayout.forLinks(s.nodeCount, s.src, s.dst, s.edgeCount,
+                warm ? s.x : null, warm ? s.y : null);
+        layout = started;
+        started.start((x, y, iteration, done) -> SwingUtilities.invokeLater(() -> {
+            if (layout == started && scene == s) setPositions(x, y);
+        }), LAYOUT_PUBLISH_MILLIS);
+        return started;
+    }
+
+    void stopLayout() {
+        if (layout != null) layout.stop();
+        layout = null;
+    }
+
+    private void viewChanged() {
+        cacheValid = false;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int w = getWidth(), h = getHeight();
+        if (scene == null || w <= 0 || h <= 0) return;
+        if (!viewSet) {
+            fitView();
+            viewSet = true;
+        }
+        if (cache == null || cache.getWidth() != w || cache.getHeight() != h) {
+            cache = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            cacheValid = false;
+        }
+        if (!cacheValid) {
+            Graphics2D g2d = cache.createGraphics();
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, w, h);
+            render(g2d, w, h);
+            g2d.dispose();
+            cacheValid = true;
+        }
+        g.drawImage(cache, 0, 0, null);
+    }
+
+    // Keeps the original pixel positions when the scene fits at scale 1, otherwise fits the bounds
+    private void fitView() {
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        Index ix = index;
+        double r = scene.nodeRadius;
+        if (ix.minX - r >= 0 && ix.minY - r >= 0 && ix.maxX + r <= w && ix.maxY + r <= h) {
+            scale = 1;
+            tx = 0;
+            ty = 0;
+            return;
+        }
+        double bw = Math.max(1e-6, ix.maxX - ix.minX + 2 * r), bh = Math.max(1e-6, ix.maxY - ix.minY + 2 * r);
+        scale = 0.95 * Math.min(w / bw, h / bh);
+        tx = w / 2.0 - scale * (ix.minX + ix.maxX) / 2;
+        ty = h / 2.0 - scale * (ix.minY + ix.maxY) / 2;
+    }
+
+    private void render(Graphics2D g, int w, int h) {
+        Index ix = index;
+        if (scene.nodeCount == 0) return;
+        // Visible world rectangle, widened by a node radius so partly visible nodes are kept
+        double margin = scene.nodeRadius;
+        double wx0 = -tx / scale - margin, wy0 = -ty / scale - margin;
+        double wx1 = (w - tx) / scale + margin, wy1 = (h - ty) / scale + margin;
+        boolean detailed = scene.nodeRadius * scale >= MIN_DETAIL_RADIUS
+                && ix.estimateVisible(wx0, wy0, wx1, wy1) <= DETAIL_LIMIT;
+        if (detailed) renderDetailed(g, wx0, wy0, wx1, wy1);
+        else renderMerged(g, wx0, wy0, wx1, wy1);
+    }
+
+    private void renderDetailed(Graphics2D g, double wx0, double wy0, double wx1, double wy1) {
+        Scene s = scene;
+        Index ix = index;
+        // Links in style order (edge ids are sorted by style), then their weights, then nodes
+        int count = ix.collectEdges(wx0, wy0, wx1, wy1, this);
+        if (count <= SMOOTH_LIMIT) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        Arrays.sort(visible, 0, count);
+        int currentStyle = -1;
+        for (int i = 0; i < count; i++) {
+            int e = visible[i];
+            int st = s.style[ix.edgeOrder[e]];
+            if (st != currentStyle) {
+                g.setColor(s.edgePalette[st]);
+                currentStyle = st;
+            }
+            int u = ix.edgeSrc[e], v = ix.edgeDst[e];
+            drawClipped(g, s.x[u], s.y[u], s.x[v], s.y[v], wx0, wy0, wx1, wy1);
+        }
+        if (scale >= WEIGHT_SCALE) {
+            g.setColor(Color.BLACK);
+            for (int i = 0; i < count; i++) {
+                int e = visible[i];
+                int weight = s.weight[ix.edgeOrder[e]];
+                if (weight == NO_LABEL) continue;
+                int u = ix.edgeSrc[e], v = ix.edgeDst[e];
+                double mx = (s.x[u] + s.x[v]) / 2.0, my = (s.y[u] + s.y[v]) / 2.0;
+                if (mx < wx0 || mx > wx1 || my < wy0 || my > wy1) continue;
+                g.drawString(String.valueOf(weight), sx(mx), sy(my));
+            }
+        }
+        count = ix.collectNodes(wx0, wy0, wx1, wy1, this);
+        double r = s.nodeRadius * scale;
+        int d = (int) Math.max(1, Math.round(2 * r));
+        boolean labels = r >= LABEL_RADIUS;
+        for (int i = 0; i < count; i++) {
+            int u = visible[i];
+            int cx = sx(s.x[u]), cy = sy(s.y[u]);
+            g.setColor(s.nodePalette[s.nodeColor[u]]);
+            g.fillOval(cx - d / 2, cy - d / 2, d, d);
+            if (labels && s.label[u] != null) {
+                g.setColor(s.labelColor);
+                g.drawString(s.label[u], (int) Math.round(cx + s.labelDx * scale), (int) Math.round(cy + s.labelDy * scale));
+            }
+        }
+    }
+
+    // Zoomed-out view: lines between linked cells and one square per occupied cell
+    private void renderMerged(Graphics2D g, double wx0, double wy0, double wx1, double wy1) {
+        Scene s = scene;
+        Merged m = index.merged(CELL_PIXELS / scale);
+        double half = m.cellSize / 2;
+        Color[][] shades = shades(s.edgePalette, getBackground());
+        for (int i = 0; i < m.pairKeys.length; i++) {
+            long key = m.pairKeys[i];
+            int a = (int) (key >>> 32), b = (int) key;
+            // Darker lines for cell pairs that bundle more links
+            int shade = Math.min(shades[0].length - 1, 31 - Integer.numberOfLeadingZeros(m.pairCount[i]));
+            g.setColor(shades[m.pairStyle[i]][shade]);
+            drawClipped(g, m.centerX(a), m.centerY(a), m.centerX(b), m.centerY(b), wx0, wy0, wx1, wy1);
+        }
+        int size = (int) Math.max(2, Math.round(m.cellSize * scale / 2));
+        for (int i = 0; i < m.cellKeys.length; i++) {
+            int key = m.cellKeys[i];
+            double cx = m.centerX(key), cy = m.centerY(key);
+            if (cx + half < wx0 || cx - half > wx1 || cy + half < wy0 || cy - half > wy1) continue;
+            g.setColor(s.nodePalette[m.cellColor[i]]);
+            g.fillRect(sx(cx) - size / 2, sy(cy) - size / 2, size, size);
+        }
+    }
+
+    // Draws the part of a world segment inside the view rectangle (Liang-Barsky), if any
+    private void drawClipped(Graphics2D g, double x0, double y0, double x1, double y1,
+                             double wx0, double wy0, double wx1, double wy1) {
+        double dx = x1 - x0, dy = y1 - y0;
+        clipLo = 0;
+        clipHi = 1;
+        if (!clip(-dx, x0 - wx0) || !clip(dx, wx1 - x0) || !clip(-dy, y0 - wy0) || !clip(dy, wy1 - y0)) return;
+        g.drawLine(sx(x0 + clipLo * dx), sy(y0 + clipLo * dy), sx(x0 + clipHi * dx), sy(y0 + clipHi * dy));
+    }
+
+    private boolean clip(double p, double q) {
+        if (p == 0) return q >= 0;
+        double t = q / p;
+        if (p < 0) {
+            if (t > clipHi) return false;
+            if (t > clipLo) clipLo = t;
+        } else {
+            if (t < clipLo) return false;
+            if (t < clipHi) clipHi = t;
+        }
+        return true;
+    }
+
+    // Each link style blended over the background at eight strengths; opaque colors keep Java2D
+    // on its fast line loops, where translucent lines take the slow general compositing path
+    private static Color[][] shades(Color[] palette, Color background) {
+        Color[][] shades = new Color[palette.length][8];
+        for (int st = 0; st < palette.length; st++) {
+            Color c = palette[st];
+            for (int k = 0; k < 8; k++) {
+                double a = Math.min(1, 0.25 + 0.11 * k);
+                shades[st][k] = new Color(
+                        (int) Math.round(c.getRed() * a + background.getRed() * (1 - a)),
+                        (int) Math.round(c.getGreen() * a + background.getGreen() * (1 - a)),
+                        (int) Math.round(c.getBlue() * a + background.getBlue() * (1 - a)));
+            }
+        }
+        return shades;
+    }
+
+    private int sx(double wx) {
+        return (int) Math.round(wx * scale + tx);
+    }
+
+    private int sy(double wy) {
+        return (int) Math.round(wy * scale + ty);
+    }
+
+    private int[] visibleBuffer(int needed) {
+        if (visible.length < needed) visible = new int[Math.max(needed, visible.length * 2)];
+        return visible;
+    }
+
+    // Nodes in a square grid over the scene bounds. Links sit in a pyramid of grids, each level
+    // with cells twice as wide, at the finest level where the link spans at most two cells per
+    // axis, filed under its lower-left cell; a view then only visits cells next to it.
+    private static final class Index {
+        final Scene scene;
+        final double minX, minY, maxX, maxY;
+        final int grid; // cells per axis at the finest level, a power of two
+        final double cellW, cellH;
+        final int[] nodeStart, nodeItems;
+        final int[] levelBase; // first cell of each link level
+        final int[] edgeStart, edgeItems;
+        final int[] edgeOrder, edgeSrc, edgeDst; // links sorted by style
+        private final Map<Integer, Merged> merged = new HashMap<>();
+
+        Index(Scene s) {
+            scene = s;
+            int n = s.nodeCount;
+            double x0 = Double.MAX_VALUE, y0 = Double.MAX_VALUE, x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                x0 = Math.min(x0, s.x[i]);
+                y0 = Math.min(y0, s.y[i]);
+                x1 = Math.max(x1, s.x[i]);
+                y1 = Math.max(y1, s.y[i]);
+            }
+            if (n == 0) x0 = y0 = x1 = y1 = 0;
+            minX = x0;
+            minY = y0;
+            maxX = x1;
+            maxY = y1;
+            int target = (int) Math.min(1024, Math.ceil(Math.sqrt(n / 8.0)));
+            grid = Math.max(1, Integer.highestOneBit(Math.max(1, target - 1)) << (target > 1 ? 1 : 0));
+            cellW = Math.max(1e-6, (maxX - minX) / grid);
+            cellH = Math.max(1e-6, (maxY - minY) / grid);
+
+            int cells = grid * grid;
+            nodeStart = new int[cells + 1];
+            int[] nodeX = new int[n], nodeY = new int[n];
+            for (int i = 0; i < n; i++) {
+                nodeX[i] = colOf(s.x[i]);
+                nodeY[i] = rowOf(s.y[i]);
+                nodeStart[nodeY[i] * grid + nodeX[i] + 1]++;
+            }
+            for (int c = 0; c < cells; c++) nodeStart[c + 1] += nodeStart[c];
+            nodeItems = new int[n];
+            int[] fill = Arrays.copyOf(nodeStart, cells);
+            for (int i = 0; i < n; i++) nodeItems[fill[nodeY[i] * grid + nodeX[i]]++] = i;
+
+            int levels = Integer.numberOfTrailingZeros(grid) + 1;
+            levelBase = new int[levels + 1];
+            for (int l = 0; l < levels; l++) {
+                int side = grid >> l;
+                levelBase[l + 1] = levelBase[l] + side * side;
+            }
+
+            // Stable counting sort of the links by style so drawing in id order layers the styles
+            int m = s.edgeCount;
+            int[] styleStart = new int[257];
+            for (int e = 0; e < m; e++) styleStart[(s.style[e] & 0xff) + 1]++;
+            for (int k = 0; k < 256; k++) styleStart[k + 1] += styleStart[k];
+            edgeOrder = new int[m];
+            for (int e = 0; e < m; e++) edgeOrder[styleStart[s.style[e] & 0xff]++] = e;
+            edgeSrc = new int[m];
+            edgeDst = new int[m];
+            int[] edgeCell = new int[m];
+            edgeStart = new int[levelBase[levels] + 1];
+            for (int e = 0; e < m; e++) {
+                int u = s.src[edgeOrder[e]], v = s.dst[edgeOrder[e]];
+                edgeSrc[e] = u;
+                edgeDst[e] = v;
+                int ax = Math.min(nodeX[u], nodeX[v]), bx = Math.max(nodeX[u], nodeX[v]);
+                int ay = Math.min(nodeY[u], nodeY[v]), by = Math.max(nodeY[u], nodeY[v]);
+                int l = 0;
+                while ((bx >> l) - (ax >> l) > 1 || (by >> l) - (ay >> l) > 1) l++;
+                edgeCell[e] = levelBase[l] + (ay >> l) * (grid >> l) + (ax >> l);
+                edgeStart[edgeCell[e] + 1]++;
+            }
+            int edgeCells = levelBase[levels];
+            for (int c = 0; c < edgeCells; c++) edgeStart[c + 1] += edgeStart[c];
+            edgeItems = new int[m];
+            fill = Arrays.copyOf(edgeStart, edgeCells);
+            for (int e = 0; e < m; e++) edgeItems[fill[edgeCell[e]]++] = e;
+        }
+
+        private int colOf(double px) {
+            return (int) Math.max(0, Math.min(grid - 1, Math.floor((px - minX) / cellW)));
+        }
+
+        private int rowOf(double py) {
+            return (int) Math.max(0, Math.min(grid - 1, Math.floor((py - minY) / cellH)));
+        }
+
+        // Upper bound on the nodes and links a detailed frame of this rectangle would draw
+        long estimateVisible(double x0, double y0, double x1, double y1) {
+            int c0 = colOf(x0), c1 = colOf(x1), r0 = rowOf(y0), r1 = rowOf(y1);
+            long total = 0;
+            for (int r = r0; r <= r1 && total <= DETAIL_LIMIT; r++) {
+                total += nodeStart[r * grid + c1 + 1] - nodeStart[r * grid + c0];
+            }
+            for (int l = 0; l + 1 < levelBase.length && total <= DETAIL_LIMIT; l++) {
+                int side = grid >> l, base = levelBase[l];
+                int lc0 = Math.max(0, (c0 >> l) - 1), lc1 = c1 >> l;
+                for (int r = Math.max(0, (r0 >> l) - 1); r <= r1 >> l && total <= DETAIL_LIMIT; r++) {
+                    total += edgeStart[base + r * side + lc1 + 1] - edgeStart[base + r * side + lc0];
+                }
+            }
+            return total;
+        }
+
+        // Link ids whose bounding box meets the rectangle, into canvas.visible; returns the count
+        int collectEdges(double x0, double y0, double x1, double y1, GraphCanvas canvas) {
+            Scene s = scene;
+            int[] out = canvas.visibleBuffer(DETAIL_LIMIT);
+            int count = 0;
+            int c0 = colOf(x0), c1 = colOf(x1), r0 = rowOf(y0), r1 = rowOf(y1);
+            for (int l = 0; l + 1 < levelBase.length; l++) {
+                int side = grid >> l, base = levelBase[l];
+                int lc0 = Math.max(0, (c0 >> l) - 1), lc1 = c1 >> l;
+                for (int r = Math.max(0, (r0 >> l) - 1); r <= r1 >> l; r++) {
+                    for (int k = edgeStart[base + r * side + lc0]; k < edgeStart[base + r * side + lc1 + 1]; k++) {
+                        int e = edgeItems[k];
+                        int u = edgeSrc[e], v = edgeDst[e];
+                        if (Math.max(s.x[u], s.x[v]) >= x0 && Math.min(s.x[u], s.x[v]) <= x1
+                                && Math.max(s.y[u], s.y[v]) >= y0 && Math.min(s.y[u], s.y[v]) <= y1) {
+                            out[count++] = e;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        int collectNodes(double x0, double y0, double x1, double y1, GraphCanvas canvas) {
+            Scene s = scene;
+            int[] out = canvas.visibleBuffer(DETAIL_LIMIT);
+            int count = 0;
+            int c0 = colOf(x0), c1 = colOf(x1), r0 = rowOf(y0), r1 = rowOf(y1);
+            for (int r = r0; r <= r1; r++) {
+                for (int k = nodeStart[r * grid + c0]; k < nodeStart[r * grid + c1 + 1]; k++) {
+                    int u = nodeItems[k];
+                    if (s.x[u] >= x0 && s.x[u] <= x1 && s.y[u] >= y0 && s.y[u] <= y1) out[count++] = u;
+                }
+            }
+            return count;
+        }
+
+        // Merged view for cells of at least the given world size, built once per power-of-two level
+        Merged merged(double cellSize) {
+            double extent = Math.max(maxX - minX, maxY - minY);
+            double finest = Math.max(1e-6, extent / (MAX_AXIS_CELLS - 1));
+            int level = (int) Math.max(0, Math.min(16, Math.ceil(Math.log(cellSize / finest) / Math.log(2))));
+            return merged.computeIfAbsent(level, k -> new Merged(this, finest * Math.pow(2, k)));
+        }
+    }
+
+    // Nodes merged per square cell, colored with the lowest palette index among them, and links
+    // merged per pair of cells
+    private static final class Merged {
+        final double originX, originY, cellSize;
+        final int[] cellKeys;
+        final byte[] cellColor;
+        final long[] pairKeys;
+        final int[] pairCount;
+        final byte[] pairStyle;
+
+        Merged(Index ix, double cellSize) {
+            Scene s = ix.scene;
+            this.originX = ix.minX;
+            this.originY = ix.minY;
+            this.cellSize = cellSize;
+            int n = s.nodeCount;
+            int[] key = new int[n];
+            long[] byCell = new long[n];
+            for (int i = 0; i < n; i++) {
+                int cx = (int) Math.min(MAX_AXIS_CELLS - 1, (s.x[i] - originX) / cellSize);
+                int cy = (int) Math.min(MAX_AXIS_CELLS - 1, (s.y[i] - originY) / cellSize);
+                key[i] = cx << 16 | cy;
+                byCell[i] = ((long) key[i] << 32) | i;
+            }
+            Arrays.sort(byCell);
+            int cells = 0;
+            int[] keys = new int[n];
+            byte[] colors = new byte[n];
+            for (int i = 0; i < n; i++) {
+                int k = (int) (byCell[i] >>> 32);
+                byte color = s.nodeColor[(int) byCell[i]];
+                if (cells > 0 && keys[cells - 1] == k) {
+                    colors[cells - 1] = (byte) Math.min(colors[cells - 1], color);
+                } else {
+                    keys[cells] = k;
+                    colors[cells++] = color;
+                }
+            }
+            cellKeys = Arrays.copyOf(keys, cells);
+            cellColor = Arrays.copyOf(colors, cells);
+
+            int m = ix.edgeSrc.length;
+            long[] pairs = new long[m];
+            int p = 0;
+            for (int e = 0; e < m; e++) {
+                int a = key[ix.edgeSrc[e]], b = key[ix.edgeDst[e]];
+                if (a != b) pairs[p++] = pair(a, b);
+            }
+            Arrays.sort(pairs, 0, p);
+            int unique = 0;
+            int[] counts = new int[p];
+            for (int i = 0; i < p; i++) {
+                if (unique > 0 && pairs[unique - 1] == pairs[i]) {
+                    counts[unique - 1]++;
+                } else {
+                    pairs[unique] = pairs[i];
+                    counts[unique++] = 1;
+                }
+            }
+            byte[] styles = new byte[unique];
+            // Highlighted links are usually few; give each merged line its strongest style
+            for (int e = 0; e < m; e++) {
+                byte st = s.style[ix.edgeOrder[e]];
+                if (st == 0) continue;
+                int a = key[ix.edgeSrc[e]], b = key[ix.edgeDst[e]];
+                if (a == b) continue;
+                int at = Arrays.binarySearch(pairs, 0, unique, pair(a, b));
+                styles[at] = (byte) Math.max(styles[at], st);
+            }
+            // Over budget, keep the highlighted lines and then the ones bundling the most links
+            int kept = unique;
+            if (unique > PAIR_BUDGET) {
+                int[] plain = new int[unique];
+                int plainCount = 0, highlighted = 0;
+                for (int i = 0; i < unique; i++) {
+                    if (styles[i] != 0) highlighted++;
+                    else plain[plainCount++] = counts[i];
+                }
+                int slots = Math.max(0, PAIR_BUDGET - highlighted);
+                Arrays.sort(plain, 0, plainCount);
+                int threshold = slots == 0 ? Integer.MAX_VALUE : plain[plainCount - slots];
+                int atThreshold = slots;
+                for (int i = plainCount - slots; i < plainCount; i++) {
+                    if (plain[i] > threshold) atThreshold--;
+                }
+                kept = 0;
+                for (int i = 0; i < unique; i++) {
+                    boolean keep = styles[i] != 0 || counts[i] > threshold
+                            || (counts[i] == threshold && atThreshold-- > 0);
+                    if (!keep) continue;
+                    pairs[kept] = pairs[i];
+                    counts[kept] = counts[i];
+                    styles[kept++] = styles[i];
+                }
+            }
+            pairKeys = Arrays.copyOf(pairs, kept);
+            pairCount = Arrays.copyOf(counts, kept);
+            pairStyle = Arrays.copyOf(styles, kept);
+        }
+
+        private static long pair(int a, int b) {
+            return a < b ? ((long) a << 32) | (b & 0xffffffffL) : ((long) b << 32) | (a & 0xffffffffL);
+        }
+
+        double centerX(int key) {
+            return originX + ((key >>> 16) + 0.5) * cellSize;
+        }
+
+        double centerY(int key) {
+            return originY + ((key & 0xffff) + 0.5) * cellSize;
+        }
+    }
+}
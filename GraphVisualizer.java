@@ -2,54 +2,81 @@ package mini_proj_dsa;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
-class GraphVisualizer extends JPanel {
-   private int[][] adjacencyMatrix;
-   private int nodeCount;
-   private int radius = 20; // Radius of each node circle
-   private List<Point> nodePositions;
+// Draws the network through the cached, pannable and zoomable GraphCanvas; links are collected
+// once when the view is built. Nodes start on a circle and visualize then spreads them out with a
+// force-directed layout, or places them at the saved positions of a snapshot.
+class GraphVisualizer extends GraphCanvas {
+   private static final int RADIUS = 20; // Diameter of each node circle
    public GraphVisualizer(int[][] adjacencyMatrix, int nodeCount) {
-       this.adjacencyMatrix = adjacencyMatrix;
-       this.nodeCount = nodeCount;
-       this.nodePositions = new ArrayList<>();
-       // Calculate node positions in a circular layout
-       for (int i = 0; i < nodeCount; i++) {
-           int x = (int) (200 + 150 * Math.cos(2 * Math.PI * i / nodeCount));
-           int y = (int) (200 + 150 * Math.sin(2 * Math.PI * i / nodeCount));
-           nodePositions.add(new Point(x, y));
+       super(matrixScene(adjacencyMatrix, nodeCount));
+   }
+   public GraphVisualizer(CsrGraph graph) {
+       super(csrScene(graph));
+   }
+   // Nodes at the saved layout positions of the snapshot
+   public GraphVisualizer(TopologySnapshot snapshot) {
+       this(snapshot.graph());
+       CsrGraph graph = snapshot.graph();
+       float[] x = new float[graph.nodeCount()], y = new float[graph.nodeCount()];
+       for (int i = 0; i < x.length; i++) {
+           x[i] = snapshot.x(i);
+           y[i] = snapshot.y(i);
        }
+       setPositions(x, y);
    }
-   @Override
-   protected void paintComponent(Graphics g) {
-       super.paintComponent(g);
-       g.setColor(Color.BLACK);
-       // Draw links based on the adjacency matrix
+   private static GraphCanvas.Scene matrixScene(int[][] adjacencyMatrix, int nodeCount) {
+       GraphCanvas.Scene scene = layoutCircle(nodeCount, null);
+       // Scan the adjacency matrix once for the links
        for (int i = 0; i < nodeCount; i++) {
            for (int j = i + 1; j < nodeCount; j++) {
-               if (adjacencyMatrix[i][j] == 1) {
-                   Point p1 = nodePositions.get(i);
-                   Point p2 = nodePositions.get(j);
-                   g.drawLine(p1.x, p1.y, p2.x, p2.y);
-               }
+               if (adjacencyMatrix[i][j] == 1) scene.addEdge(i, j, 0, GraphCanvas.NO_LABEL);
+           }
+       }
+       return scene;
+   }
+   private static GraphCanvas.Scene csrScene(CsrGraph graph) {
+       GraphCanvas.Scene scene = layoutCircle(graph.nodeCount(), graph);
+       // Links from the CSR rows, each undirected link once
+       for (int u = 0; u < graph.nodeCount(); u++) {
+           for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+               int v = graph.target(e);
+               if (v > u) scene.addEdge(u, v, 0, GraphCanvas.NO_LABEL);
            }
        }
-       // Draw nodes
+       return scene;
+   }
+   private static GraphCanvas.Scene layoutCircle(int nodeCount, CsrGraph graph) {
+       GraphCanvas.Scene scene = new GraphCanvas.Scene(new Color[]{Color.BLUE}, new Color[]{Color.BLACK})
+               .nodeRadius(RADIUS / 2.0)
+               .labels(Color.WHITE, -6, 5);
+       // Calculate node positions in a circular layout
        for (int i = 0; i < nodeCount; i++) {
-           Point p = nodePositions.get(i);
-           g.setColor(Color.BLUE);
-           g.fillOval(p.x - radius / 2, p.y - radius / 2, radius, radius);
-           // Draw node label
-           g.setColor(Color.WHITE);
-           g.drawString("N" + i, p.x - 6, p.y + 5);
+           int x = (int) (200 + 150 * Math.cos(2 * Math.PI * i / nodeCount));
+           int y = (int) (200 + 150 * Math.sin(2 * Math.PI * i / nodeCount));
+           scene.addNode(x, y, graph != null ? graph.nameOf(i) : "N" + i, 0);
        }
+       return scene;
    }
    public static void visualize(int[][] adjacencyMatrix, int nodeCount) {
+       show(new GraphVisualizer(adjacencyMatrix, nodeCount)).startLayout(false);
+   }
+   public static void visualize(CsrGraph graph) {
+       show(new GraphVisualizer(graph)).startLayout(false);
+   }
+   // Opens a snapshot at its saved layout, refining it briefly, or lays it out from scratch
+   public static void visualize(TopologySnapshot snapshot) {
+       if (snapshot.hasLayout()) {
+           show(new GraphVisualizer(snapshot)).startLayout(true);
+       } else {
+           visualize(snapshot.graph());
+       }
+   }
+   private static GraphVisualizer show(GraphVisualizer graphVisualizer) {
        JFrame frame = new JFrame("Network Graph Visualization");
        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
        frame.setSize(500, 500);
-       GraphVisualizer graphVisualizer = new GraphVisualizer(adjacencyMatrix, nodeCount);
        frame.add(graphVisualizer);
        frame.setVisible(true);
+       return graphVisualizer;
    }
 }
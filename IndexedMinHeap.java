@@ -0,0 +1,125 @@
+package mini_proj_dsa;
+
+import java.util.Arrays;
+
+// d-ary min-heap over node ids 0..capacity-1 with long keys and decrease-key.
+// All storage is preallocated, so pushes and decrease-keys never allocate. A wider heap
+// (arity 4 or 8) makes decrease-key cheaper, which pays off on dense graphs.
+final class IndexedMinHeap {
+    private final int arity;
+    private final int[] heap;   // heap slot -> node id
+    private final int[] pos;    // node id -> heap slot, -1 when absent
+    private final long[] key;   // node id -> current key
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this(capacity, 2);
+    }
+
+    IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        this.arity = arity;
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    long minKey() {
+        return key[heap[0]];
+    }
+
+    long keyOf(int id) {
+        return key[id];
+    }
+
+    // Inserts the id, or lowers its key if the new key is smaller; returns true if the key changed
+    boolean pushOrDecrease(int id, long k) {
+        int slot = pos[id];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = id;
+            pos[id] = slot;
+            key[id] = k;
+            siftUp(slot);
+            return true;
+        }
+        if (k < key[id]) {
+            key[id] = k;
+            siftUp(slot);
+            return true;
+        }
+        return false;
+    }
+
+    int pollMin() {
+        int top = heap[0];
+        pos[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Empties the heap in O(size) so it can be reused for the next query
+    void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        long k = key[id];
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            int p = heap[parent];
+            if (key[p] <= k) break;
+            heap[slot] = p;
+            pos[p] = slot;
+            slot = parent;
+        }
+        heap[slot] = id;
+        pos[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        long k = key[id];
+        while (true) {
+            int first = arity * slot + 1;
+            if (first >= size) break;
+            int child = first;
+            long best = key[heap[first]];
+            for (int i = first + 1, last = Math.min(size, first + arity); i < last; i++) {
+                long ki = key[heap[i]];
+                if (ki < best) {
+                    best = ki;
+                    child = i;
+                }
+            }
+            int c = heap[child];
+            if (key[c] >= k) break;
+            heap[slot] = c;
+            pos[c] = slot;
+            slot = child;
+        }
+        heap[slot] = id;
+        pos[id] = slot;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 
 class MSTNetworkGUI extends JFrame {
     private static final int NODE_RADIUS = 20;  // Radius of each node
@@ -30,9 +31,26 @@ class MSTNetworkGUI extends JFrame {
 
     private int numNodes;
     private String[] nodeNames;
-    private List<Edge> edges = new ArrayList<>();           // All edges in the graph
-    private Map<String, Point> nodePositions = new HashMap<>(); // Positions of nodes
-    private List<Edge> mstEdges = new ArrayList<>(); // MST edges
+    // The edge lists are filled on the main thread and drawn on the Swing thread, so each change
+    // publishes a new unmodifiable list instead of modifying the one being painted
+    private volatile List<Edge> edges = List.of();           // All edges in the graph
+    private Map<String, Point> nodePositions = new ConcurrentHashMap<>(); // Positions of nodes
+    private volatile List<Edge> mstEdges = List.of(); // MST edges
+    private volatile List<Edge> routeEdges = List.of(); // Edges of the last optimized route
+    private volatile boolean sceneDirty = true; // Set whenever nodes or edges change
+    private CsrGraph frozen;           // Shared by the layout, broadcast and route until nodes or edges change
+
+    // Cached, pannable and zoomable drawing; the scene is rebuilt on the next paint after a change
+    private final GraphCanvas canvas = new GraphCanvas() {
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (sceneDirty) {
+                sceneDirty = false;
+                setScene(buildScene());
+            }
+            super.paintComponent(g);
+        }
+    };
 
     public MSTNetworkGUI() {
     	
@@ -42,124 +60,144 @@ class MSTNetworkGUI extends JFrame {
         setTitle("Network Visualization");
         setSize(WIDTH, HEIGHT);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setContentPane(canvas);
     }
 
     // Add nodes and set their random positions for visualization
     public void addNodes(String[] names) {
         this.nodeNames = names;
+        frozen = null;
 
         // Assign random positions within the frame for each node
         Random rand = new Random();
         for (int i = 0; i < numNodes; i++) {
             nodePositions.put(nodeNames[i], new Point(rand.nextInt(WIDTH - 100) + 50, rand.nextInt(HEIGHT - 100) + 50));
         }
+        repaint();
     }
 
-    // Add an edge between two nodes with a specified weight
-    public void addConnection(String node1, String node2, int weight) {
-        edges.add(new Edge(node1, node2, weight));
-    }
-
-    // Find method with path compression for union-find structure
-    private int find(int[] parent, int i) {
-        if (parent[i] != i) {
-            parent[i] = find(parent, parent[i]);
-        }
-        return parent[i];
+    // Spread the nodes out with a force-directed layout in the background, redrawing as it settles
+    public ForceLayout layoutNodes() {
+        CsrGraph graph = toCsrGraph();
+        return new ForceLayout(graph, 1L).start((x, y, iteration, done) -> SwingUtilities.invokeLater(() -> {
+            for (int i = 0; i < graph.nodeCount(); i++) {
+                nodePositions.put(graph.nameOf(i), new Point(Math.round(x[i]), Math.round(y[i])));
+            }
+            repaint();
+        }), 100);
     }
 
-    // Union method with rank to combine sets in union-find
-    private void union(int[] parent, int[] rank, int x, int y) {
-        int rootX = find(parent, x);
-        int rootY = find(parent, y);
-        if (rank[rootX] < rank[rootY]) {
-            parent[rootX] = rootY;
-        } else if (rank[rootX] > rank[rootY]) {
-            parent[rootY] = rootX;
-        } else {
-            parent[rootY] = rootX;
-            rank[rootX]++;
-        }
+    // Add an edge between two nodes with a specified weight
+    public void addConnection(String node1, String node2, int weight) {
+        List<Edge> added = new ArrayList<>(edges);
+        added.add(new Edge(node1, node2, weight));
+        edges = Collections.unmodifiableList(added);
+        frozen = null;
+        repaint();
     }
 
-    // Method to find MST using Kruskal’s algorithm
+    // Finds the MST with the parallel filter-Kruskal engine
     public void findMinimumSpanningTree() {
-        Collections.sort(edges);  // Sort the edges by weight
-
         Map<String, Integer> nodeIndexMap = new HashMap<>();
         for (int i = 0; i < numNodes; i++) {
             nodeIndexMap.put(nodeNames[i], i);
         }
 
-        int[] parent = new int[numNodes];
-        int[] rank = new int[numNodes];
-        for (int i = 0; i < numNodes; i++) {
-            parent[i] = i;
-            rank[i] = 0;
+        // Resolve every endpoint once into primitive edge arrays
+        List<Edge> edges = this.edges;
+        int[] src = new int[edges.size()];
+        int[] dest = new int[edges.size()];
+        int[] weight = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            src[i] = nodeIndexMap.get(edge.src);
+            dest[i] = nodeIndexMap.get(edge.dest);
+            weight[i] = edge.weight;
         }
 
-        // Go through sorted edges to build the MST
-        for (Edge edge : edges) {
-            int srcRoot = find(parent, nodeIndexMap.get(edge.src));
-            int destRoot = find(parent, nodeIndexMap.get(edge.dest));
-
-            // If src and dest are not connected, add edge to MST and union them
-            if (srcRoot != destRoot) {
-                mstEdges.add(edge);
-                union(parent, rank, srcRoot, destRoot);
-            }
-
-            // Stop once we have enough edges for the MST
-            if (mstEdges.size() == numNodes - 1) break;
+        // Links come back sorted by weight with ties in input order, as Kruskal picks them
+        List<Edge> tree = new ArrayList<>();
+        for (int i : new ParallelMstEngine(numNodes, src, dest, weight).run()) {
+            tree.add(edges.get(i));
         }
+        mstEdges = Collections.unmodifiableList(tree);
 
         repaint();  // Redraw the visualization
     }
 
-    // Override paint to draw the network and MST with edge weights and node labels
-    @Override
-    public void paint(Graphics g) {
-        super.paint(g);
-
-        // Draw all edges with their weights
-        g.setColor(Color.BLACK);
+    // Copy the entered connections into a CSR graph, kept until nodes or edges change
+    public CsrGraph toCsrGraph() {
+        if (frozen != null) return frozen;
+        List<Edge> edges = this.edges;
+        CsrGraph.Builder builder = new CsrGraph.Builder(numNodes, edges.size());
+        for (int i = 0; i < numNodes; i++) {
+            builder.addNode(nodeNames[i]);
+        }
         for (Edge edge : edges) {
-            Point p1 = nodePositions.get(edge.src);
-            Point p2 = nodePositions.get(edge.dest);
-
-            // Draw edge line
-            g.drawLine(p1.x, p1.y, p2.x, p2.y);
-
-            // Display the weight of the edge at the midpoint
-            int midX = (p1.x + p2.x) / 2;
-            int midY = (p1.y + p2.y) / 2;
-            g.drawString(String.valueOf(edge.weight), midX, midY);
+            builder.addEdge(edge.src, edge.dest, edge.weight);
         }
+        frozen = builder.build();
+        return frozen;
+    }
 
-        // Highlight MST edges in red
-        g.setColor(Color.RED);
-        for (Edge edge : mstEdges) {
-            Point p1 = nodePositions.get(edge.src);
-            Point p2 = nodePositions.get(edge.dest);
+    // Build the minimum-cost broadcast tree rooted at the source (Prim or Kruskal by density)
+    public BroadcastTreeBuilder.Result findBroadcastTree(String source) {
+        CsrGraph graph = toCsrGraph();
+        int root = graph.idOf(source);
+        if (root < 0) throw new IllegalArgumentException("Unknown node: " + source);
+        BroadcastTreeBuilder.Result tree = BroadcastTreeBuilder.build(graph, root);
+        List<Edge> treeEdges = new ArrayList<>();
+        for (int[] link : tree.getTreeEdges()) {
+            treeEdges.add(new Edge(graph.nameOf(link[0]), graph.nameOf(link[1]), graph.weight(link[0], link[1])));
+        }
+        mstEdges = Collections.unmodifiableList(treeEdges);
+        repaint();
+        return tree;
+    }
 
-            // Draw MST edge in red
-            g.drawLine(p1.x, p1.y, p2.x, p2.y);
+    // Find the cheapest route between two nodes with Dijkstra and highlight it
+    public ShortestPathRouter.Route findOptimizedRoute(String from, String to) {
+        CsrGraph graph = toCsrGraph();
+        ShortestPathRouter.Route route = new ShortestPathRouter(graph).route(from, to);
+        List<Edge> hops = new ArrayList<>();
+        List<String> path = route.getNodeNames();
+        for (int i = 1; i < path.size(); i++) {
+            int u = graph.idOf(path.get(i - 1)), v = graph.idOf(path.get(i));
+            hops.add(new Edge(path.get(i - 1), path.get(i), graph.weight(u, v)));
         }
+        routeEdges = Collections.unmodifiableList(hops);
+        repaint();
+        return route;
+    }
+
+    // Redraw after the edges or highlights change
+    @Override
+    public void repaint() {
+        sceneDirty = true;
+        super.repaint();
+    }
 
-        // Draw nodes with names
-        g.setColor(Color.MAGENTA);
+    // Draw the network and MST with edge weights and node labels: all edges in black, MST edges
+    // in red and the optimized route in blue on top, nodes in magenta
+    private GraphCanvas.Scene buildScene() {
+        GraphCanvas.Scene scene = new GraphCanvas.Scene(new Color[]{Color.MAGENTA}, new Color[]{Color.BLACK, Color.RED, Color.BLUE})
+                .nodeRadius(NODE_RADIUS)
+                .labels(Color.BLACK, -NODE_RADIUS / 2, NODE_RADIUS / 2);
+        Map<String, Integer> ids = new HashMap<>();
         for (Map.Entry<String, Point> entry : nodePositions.entrySet()) {
             Point p = entry.getValue();
-            String nodeName = entry.getKey();
-
-            // Draw node as a filled oval
-            g.fillOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
-
-            // Display node name inside or near the node
-            g.setColor(Color.BLACK);
-            g.drawString(nodeName, p.x - NODE_RADIUS / 2, p.y + NODE_RADIUS / 2);
-            g.setColor(Color.MAGENTA);
+            ids.put(entry.getKey(), scene.addNode(p.x, p.y, entry.getKey(), 0));
+        }
+        for (Edge edge : edges) {
+            scene.addEdge(ids.get(edge.src), ids.get(edge.dest), 0, edge.weight);
+        }
+        for (Edge edge : mstEdges) {
+            scene.addEdge(ids.get(edge.src), ids.get(edge.dest), 1, GraphCanvas.NO_LABEL);
         }
+        for (Edge edge : routeEdges) {
+            scene.addEdge(ids.get(edge.src), ids.get(edge.dest), 2, GraphCanvas.NO_LABEL);
+        }
+        return scene;
     }
 
     public static void main(String[] args) {
@@ -219,8 +257,53 @@ class MSTNetworkGUI extends JFrame {
                 System.out.println("Invalid weight. Please enter a valid integer for the weight.");
             }
         }
+        network.layoutNodes();
+
+        System.out.println("Enter the broadcast source node (or press Enter for the plain MST): ");
+        String source = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (source.isEmpty()) {
+            network.findMinimumSpanningTree();
+        } else {
+            try {
+                BroadcastTreeBuilder.Result tree = network.findBroadcastTree(source);
+                System.out.println("Broadcast tree from " + source + " (" + tree.getAlgorithm() + "):");
+                CsrGraph graph = tree.graph;
+                for (int v = 0; v < graph.nodeCount(); v++) {
+                    if (!tree.reaches(v)) {
+                        System.out.println("  " + graph.nameOf(v) + ": unreachable");
+                    } else if (tree.parentOf(v) >= 0) {
+                        System.out.println("  " + graph.nameOf(v) + " via " + graph.nameOf(tree.parentOf(v)) + ", arrival cost " + tree.arrivalCostOf(v));
+                    }
+                }
+                System.out.println("Total transmission cost: " + tree.getTotalCost());
+                // Compare flooding every link with forwarding only along the tree
+                BroadcastSimulator.Result flood = BroadcastSimulator.flood(graph, graph.idOf(source));
+                BroadcastSimulator.Result treeFlood = BroadcastSimulator.floodTree(tree);
+                System.out.println("Flooding: " + flood.getCompletionRounds() + " rounds, " + flood.getTotalMessages()
+                        + " messages (" + flood.getDuplicateDeliveries() + " duplicates)");
+                System.out.println("Along the tree: " + treeFlood.getCompletionRounds() + " rounds, " + treeFlood.getTotalMessages() + " messages");
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                network.findMinimumSpanningTree();
+            }
+        }
 
-        network.findMinimumSpanningTree();
+        System.out.println("Enter 'source destination' for the optimized route (or press Enter to skip): ");
+        if (scanner.hasNextLine()) {
+            String[] parts = scanner.nextLine().trim().split("\\s+");
+            if (parts.length == 2) {
+                try {
+                    ShortestPathRouter.Route route = network.findOptimizedRoute(parts[0], parts[1]);
+                    if (route.exists()) {
+                        System.out.println("Optimized route: " + String.join(" -> ", route.getNodeNames()) + " (cost " + route.getCost() + ")");
+                    } else {
+                        System.out.println("No route between " + parts[0] + " and " + parts[1] + ".");
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+        }
         scanner.close();
     }
 }
@@ -0,0 +1,284 @@
+package mini_proj_dsa;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+// Monte Carlo estimate of network reachability under random failures.
+// A trial fails k random nodes, k random links, or every node and link independently with its
+// own probability, then measures the share of surviving node pairs that can still reach each
+// other. Trials are grouped into fixed blocks; each block draws from its own SplitMix64 stream
+// started at a hash of the seed and block number (so neighbouring seeds do not give overlapping
+// streams), and results do not depend on the number of cores.
+// Workers keep their scratch arrays for all their blocks, so trials allocate nothing.
+class MonteCarloFailureSimulator {
+    private static final int BLOCK_SIZE = 4096;
+    private static final int HISTOGRAM_BINS = 10_000;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    // How components fail in one trial
+    static class Scenario {
+        final int failedNodes;
+        final int failedLinks;
+        final double[] nodeFailureProbability;
+        final double[] linkFailureProbability;
+
+        private Scenario(int failedNodes, int failedLinks, double[] nodeP, double[] linkP) {
+            this.failedNodes = failedNodes;
+            this.failedLinks = failedLinks;
+            this.nodeFailureProbability = nodeP;
+            this.linkFailureProbability = linkP;
+        }
+
+        // Exactly k distinct random nodes fail
+        static Scenario randomNodes(int k) {
+            return new Scenario(k, 0, null, null);
+        }
+
+        // Exactly k distinct random links fail
+        static Scenario randomLinks(int k) {
+            return new Scenario(0, k, null, null);
+        }
+
+        // Node i fails with nodeP[i]; link j (in linkEndpoints order) fails with linkP[j]; either may be null
+        static Scenario independent(double[] nodeP, double[] linkP) {
+            return new Scenario(0, 0, nodeP, linkP);
+        }
+    }
+
+    static class Result {
+        final long trials;
+        final double meanReachability;
+        final double standardDeviation;
+        final long partitionedTrials;
+        final long[] histogram;
+
+        Result(long trials, double mean, double sd, long partitioned, long[] histogram) {
+            this.trials = trials;
+            this.meanReachability = mean;
+            this.standardDeviation = sd;
+            this.partitionedTrials = partitioned;
+            this.histogram = histogram;
+        }
+
+        public double getMeanReachability() {
+            return meanReachability;
+        }
+
+        // 95% normal confidence interval of the mean reachability
+        public double[] getMeanConfidenceInterval() {
+            double half = 1.96 * standardDeviation / Math.sqrt(trials);
+            return new double[]{meanReachability - half, meanReachability + half};
+        }
+
+        // Reachability value at the given percentile (0-100), resolved to 1/HISTOGRAM_BINS
+        public double getPercentile(double percentile) {
+            long rank = (long) Math.ceil(percentile / 100.0 * trials);
+            long seen = 0;
+            for (int b = 0; b < histogram.length; b++) {
+                seen += histogram[b];
+                if (seen >= Math.max(1, rank)) return b / (double) (histogram.length - 1);
+            }
+            return 1.0;
+        }
+
+        // Share of trials in which the surviving network split into more than one component
+        public double getPartitionProbability() {
+            return partitionedTrials / (double) trials;
+        }
+
+        // 95% Wilson score interval of the partition probability
+        public double[] getPartitionConfidenceInterval() {
+            double z = 1.96, p = getPartitionProbability(), n = trials;
+            double centre = (p + z * z / (2 * n)) / (1 + z * z / n);
+            double half = z * Math.sqrt(p * (1 - p) / n + z * z / (4 * n * n)) / (1 + z * z / n);
+            return new double[]{Math.max(0, centre - half), Math.min(1, centre + half)};
+        }
+
+        public long getTrials() {
+            return trials;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final int[] linkU, linkV;
+
+    MonteCarloFailureSimulator(CsrGraph graph) {
+        this.graph = graph;
+        int m = 0;
+        int[] u = new int[graph.edgeCount()], v = new int[graph.edgeCount()];
+        for (int a = 0; a < graph.nodeCount(); a++) {
+            for (int e = graph.firstArc(a); e < graph.endArc(a); e++) {
+                if (a < graph.target(e)) {
+                    u[m] = a;
+                    v[m++] = graph.target(e);
+                }
+            }
+        }
+        linkU = Arrays.copyOf(u, m);
+        linkV = Arrays.copyOf(v, m);
+    }
+
+    // Link j joins linkEndpoints()[0][j] and linkEndpoints()[1][j]; self loops are left out
+    public int[][] linkEndpoints() {
+        return new int[][]{linkU.clone(), linkV.clone()};
+    }
+
+    public Result simulate(Scenario scenario, long trials, long seed) {
+        return simulate(scenario, trials, seed, ForkJoinPool.commonPool());
+    }
+
+    public Result simulate(Scenario scenario, long trials, long seed, ForkJoinPool pool) {
+        if (trials <= 0) throw new IllegalArgumentException("Number of trials must be positive.");
+        int blocks = (int) ((trials + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        double[] blockSum = new double[blocks];
+        double[] blockSumSq = new double[blocks];
+        int workers = Math.max(1, Math.min(blocks, pool.getParallelism()));
+        List<Callable<Worker>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int id = w;
+            tasks.add(() -> {
+                Worker worker = new Worker(scenario);
+                for (int b = id; b < blocks; b += workers) {
+                    long first = (long) b * BLOCK_SIZE;
+                    int count = (int) Math.min(BLOCK_SIZE, trials - first);
+                    worker.runBlock(seed, b, count, blockSum, blockSumSq);
+                }
+                return worker;
+            });
+        }
+        long[] histogram = new long[HISTOGRAM_BINS + 1];
+        long partitioned = 0;
+        try {
+            for (Future<Worker> f : pool.invokeAll(tasks)) {
+                Worker worker = f.get();
+                partitioned += worker.partitioned;
+                for (int b = 0; b < histogram.length; b++) histogram[b] += worker.histogram[b];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed: " + e.getCause(), e.getCause());
+        }
+        // Sum blocks in a fixed order so the floating point result is reproducible
+        double sum = 0, sumSq = 0;
+        for (int b = 0; b < blocks; b++) {
+            sum += blockSum[b];
+            sumSq += blockSumSq[b];
+        }
+        double mean = sum / trials;
+        double variance = trials > 1 ? Math.max(0, (sumSq - trials * mean * mean) / (trials - 1)) : 0;
+        return new Result(trials, mean, Math.sqrt(variance), partitioned, histogram);
+    }
+
+    // Per-thread state reused across every trial the thread runs
+    private class Worker {
+        final Scenario scenario;
+        final int[] parent, size, nodePerm, linkPerm;
+        final boolean[] nodeDown, linkDown;
+        final long[] histogram = new long[HISTOGRAM_BINS + 1];
+        long partitioned;
+        long rng;
+
+        Worker(Scenario scenario) {
+            this.scenario = scenario;
+            int n = graph.nodeCount(), m = linkU.length;
+            parent = new int[n];
+            size = new int[n];
+            nodeDown = new boolean[n];
+            linkDown = new boolean[m];
+            nodePerm = new int[n];
+            linkPerm = new int[m];
+        }
+
+        void runBlock(long seed, int block, int count, double[] blockSum, double[] blockSumSq) {
+            rng = mix64(seed + GOLDEN * (block + 1));
+            // Restart the shuffles so a block does not depend on blocks run before it
+            for (int i = 0; i < nodePerm.length; i++) nodePerm[i] = i;
+            for (int i = 0; i < linkPerm.length; i++) linkPerm[i] = i;
+            double sum = 0, sumSq = 0;
+            for (int t = 0; t < count; t++) {
+                double r = trial();
+                sum += r;
+                sumSq += r * r;
+                histogram[(int) Math.round(r * HISTOGRAM_BINS)]++;
+            }
+            blockSum[block] = sum;
+            blockSumSq[block] = sumSq;
+        }
+
+        private double trial() {
+            int n = parent.length, m = linkDown.length;
+            Arrays.fill(nodeDown, false);
+            Arrays.fill(linkDown, false);
+            if (scenario.failedNodes > 0) pickDistinct(nodePerm, Math.min(scenario.failedNodes, n), nodeDown);
+            if (scenario.failedLinks > 0) pickDistinct(linkPerm, Math.min(scenario.failedLinks, m), linkDown);
+            if (scenario.nodeFailureProbability != null) {
+                for (int i = 0; i < n; i++) nodeDown[i] |= nextDouble() < scenario.nodeFailureProbability[i];
+            }
+            if (scenario.linkFailureProbability != null) {
+                for (int j = 0; j < m; j++) linkDown[j] |= nextDouble() < scenario.linkFailureProbability[j];
+            }
+
+            int alive = 0;
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                size[i] = 1;
+                if (!nodeDown[i]) alive++;
+            }
+            int components = alive;
+            for (int j = 0; j < m; j++) {
+                int a = linkU[j], b = linkV[j];
+                if (linkDown[j] || nodeDown[a] || nodeDown[b]) continue;
+                int ra = find(a), rb = find(b);
+                if (ra == rb) continue;
+                if (size[ra] < size[rb]) {
+                    int t = ra; ra = rb; rb = t;
+                }
+                parent[rb] = ra;
+                size[ra] += size[rb];
+                components--;
+            }
+            if (components > 1) partitioned++;
+            if (alive < 2) return alive == 1 ? 1.0 : 0.0;
+            long connectedPairs = 0;
+            for (int i = 0; i < n; i++) {
+                if (!nodeDown[i] && parent[i] == i) connectedPairs += (long) size[i] * (size[i] - 1);
+            }
+            return connectedPairs / ((double) alive * (alive - 1));
+        }
+
+        // Partial Fisher-Yates shuffle: the first k entries of perm become the failed ids
+        private void pickDistinct(int[] perm, int k, boolean[] down) {
+            for (int i = 0; i < k; i++) {
+                int j = i + (int) ((nextLong() >>> 33) % (perm.length - i));
+                int t = perm[i]; perm[i] = perm[j]; perm[j] = t;
+                down[perm[i]] = true;
+            }
+        }
+
+        private int find(int x) {
+            while (parent[x] != x) {
+                parent[x] = parent[parent[x]];
+                x = parent[x];
+            }
+            return x;
+        }
+
+        // SplitMix64
+        private long nextLong() {
+            return mix64(rng += GOLDEN);
+        }
+
+        private double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,4 +1,6 @@
 package mini_proj_dsa;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 public class NetworkTopology {
@@ -9,6 +11,7 @@ public class NetworkTopology {
 	   private Map<String, Map<String, Integer>> adjMatrix;
 	   private List<String> starTopology;
 	   public String[] nodeNames;
+	   private CsrGraph frozen; // Shared by every analysis and view until the topology changes
 	   public NetworkTopology(String topologyType, int numNodes) {
 	       this.topologyType = topologyType.toLowerCase();
 	       this.busTopology = new ArrayList<>();
@@ -20,6 +23,7 @@ public class NetworkTopology {
 	   // Method to add nodes
 	   public void addNodes(String[] nodes) {
 	       this.nodeNames = nodes;
+	       frozen = null;
 	       switch (topologyType) {
 	           case "bus":
 	               busTopology.addAll(Arrays.asList(nodes));
@@ -44,9 +48,57 @@ public class NetworkTopology {
 	   // Method to add connections for mesh and hybrid topologies
 	   public void addConnection(String node1, String node2, int weight) {
 	       if (!topologyType.equals("mesh") && !topologyType.equals("hybrid")) return;
+	       frozen = null;
 	       adjMatrix.get(node1).put(node2, weight);
 	       adjMatrix.get(node2).put(node1, weight); // Assuming undirected connections
 	   }
+	   // Freeze the topology into a compact CSR graph (bus, ring, star and tree links get weight 1).
+	   // The graph is built once and returned again until nodes or connections are added.
+	   public CsrGraph toCsrGraph() {
+	       if (frozen != null) return frozen;
+	       CsrGraph.Builder builder = new CsrGraph.Builder();
+	       for (String node : nodeNames) {
+	           if (node != null) builder.addNode(node);
+	       }
+	       switch (topologyType) {
+	           case "bus":
+	               for (int i = 1; i < busTopology.size(); i++) {
+	                   builder.addEdge(busTopology.get(i - 1), busTopology.get(i), 1);
+	               }
+	               break;
+	           case "ring":
+	               for (int i = 0; i < ringTopology.size(); i++) {
+	                   int next = (i + 1) % ringTopology.size();
+	                   if (next != i) builder.addEdge(ringTopology.get(i), ringTopology.get(next), 1);
+	               }
+	               break;
+	           case "tree":
+	               // buildTree places the children of index i at 2i+1 and 2i+2
+	               for (int i = 1; i < nodeNames.length; i++) {
+	                   builder.addEdge(nodeNames[(i - 1) / 2], nodeNames[i], 1);
+	               }
+	               break;
+	           case "mesh":
+	           case "hybrid":
+	               for (Map.Entry<String, Map<String, Integer>> row : adjMatrix.entrySet()) {
+	                   for (Map.Entry<String, Integer> link : row.getValue().entrySet()) {
+	                       builder.addEdge(row.getKey(), link.getKey(), link.getValue());
+	                   }
+	               }
+	               break;
+	           case "star":
+	               for (int i = 1; i < starTopology.size(); i++) {
+	                   builder.addEdge(starTopology.get(0), starTopology.get(i), 1);
+	               }
+	               break;
+	       }
+	       frozen = builder.build();
+	       return frozen;
+	   }
+	   // Save the frozen topology as a binary snapshot that later runs can open without reparsing
+	   public void saveSnapshot(Path file) throws IOException {
+	       TopologySnapshot.write(file, toCsrGraph());
+	   }
 	   // Recursive method to build a tree structure
 	   private TreeNode buildTree(String[] nodes, int index) {
 	       if (index >= nodes.length) return null;
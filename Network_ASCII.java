@@ -1,5 +1,6 @@
 package mini_proj_dsa;
 
+import java.io.IOException;
 import java.util.*;
 
 class Network_ASCII {
@@ -11,6 +12,7 @@ class Network_ASCII {
     private List<String> ringTopology; // For Ring topology
     private List<String> starTopology; // For Star topology
     private TreeNode treeRoot;         // For Tree topology
+    private CsrGraph frozen;           // Shared by every view until the topology changes
 
     // Constructor to initialize the topology type and number of nodes
     public Network_ASCII(String topologyType, int numNodes) {
@@ -29,6 +31,7 @@ class Network_ASCII {
     // Add nodes to the appropriate topology based on the type
     public void addNodes(String[] names) {
         this.nodeNames = names;
+        frozen = null;
 
         // Validate the number of nodes
         if (names.length != numNodes) {
@@ -67,11 +70,56 @@ class Network_ASCII {
         }
 
         if (topologyType.equals("mesh") || topologyType.equals("hybrid")) {
+            frozen = null;
             adjMatrix.get(node1).put(node2, weight);
             adjMatrix.get(node2).put(node1, weight);
         }
     }
 
+    // Freeze the topology into a compact CSR graph (bus, ring, star and tree links get weight 1).
+    // The graph is built once and returned again until nodes or connections are added.
+    public CsrGraph toCsrGraph() {
+        if (frozen != null) return frozen;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (String node : nodeNames) {
+            if (node != null) builder.addNode(node);
+        }
+        switch (topologyType.toLowerCase()) {
+            case "bus":
+                for (int i = 1; i < busTopology.size(); i++) {
+                    builder.addEdge(busTopology.get(i - 1), busTopology.get(i), 1);
+                }
+                break;
+            case "ring":
+                for (int i = 0; i < ringTopology.size(); i++) {
+                    int next = (i + 1) % ringTopology.size();
+                    if (next != i) builder.addEdge(ringTopology.get(i), ringTopology.get(next), 1);
+                }
+                break;
+            case "tree":
+                // buildTreeTopology fills the tree level by level, so the parent of i is (i - 1) / 2
+                for (int i = 1; i < nodeNames.length; i++) {
+                    builder.addEdge(nodeNames[(i - 1) / 2], nodeNames[i], 1);
+                }
+                break;
+            case "mesh":
+            case "hybrid":
+                for (Map.Entry<String, Map<String, Integer>> row : adjMatrix.entrySet()) {
+                    for (Map.Entry<String, Integer> link : row.getValue().entrySet()) {
+                        builder.addEdge(row.getKey(), link.getKey(), link.getValue());
+                    }
+                }
+                break;
+            case "star":
+                for (int i = 1; i < starTopology.size(); i++) {
+                    builder.addEdge(starTopology.get(0), starTopology.get(i), 1);
+                }
+                break;
+        }
+        frozen = builder.build();
+        return frozen;
+    }
+
     // Display topology with ASCII art
     public void displayTopology() {
     	
@@ -132,17 +180,18 @@ class Network_ASCII {
         }
     }
 
-    // Display Mesh/Hybrid Topology as ASCII adjacency matrix
+    // Display Mesh/Hybrid Topology as an ASCII adjacency matrix, or as an adjacency list when sparse
     private void displayMeshOrHybridTopology() {
-        System.out.println("Adjacency Matrix (showing connections and weights):");
-        System.out.println("   " + String.join(" ", nodeNames));
-        for (String node1 : nodeNames) {
-            System.out.print(node1 + ": ");
-            for (String node2 : nodeNames) {
-                Integer weight = adjMatrix.get(node1).get(node2);
-                System.out.print((weight != null ? weight : "0") + " ");
-            }
-            System.out.println();
+        AsciiTopologyWriter writer = new AsciiTopologyWriter(toCsrGraph());
+        if (writer.resolvedFormat() == AsciiTopologyWriter.Format.LIST) {
+            System.out.println("Adjacency List (showing connections and weights):");
+        } else {
+            System.out.println("Adjacency Matrix (showing connections and weights):");
+        }
+        try {
+            writer.print();
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
         }
     }
 
@@ -299,4 +348,4 @@ class Network_ASCII {
 
         scanner.close();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -7,6 +7,9 @@ import java.util.*;
 
 public class Network_Visual extends JFrame {
     private NetworkTopology networkTopology;
+    // Force-directed positions for mesh and hybrid topologies, updated while the layout runs
+    private CsrGraph layoutGraph;
+    private float[] layoutX, layoutY;
 
     public Network_Visual() {
     }
@@ -18,6 +21,16 @@ public class Network_Visual extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         add(new TopologyPanel());
+        String type = networkTopology.getTopologyType();
+        if (type.equals("mesh") || type.equals("hybrid")) {
+            CsrGraph graph = networkTopology.toCsrGraph();
+            new ForceLayout(graph, 1L).start((x, y, iteration, done) -> SwingUtilities.invokeLater(() -> {
+                layoutGraph = graph;
+                layoutX = x;
+                layoutY = y;
+                repaint();
+            }), 100);
+        }
     }
 
     private class TopologyPanel extends JPanel {
@@ -112,7 +125,11 @@ public class Network_Visual extends JFrame {
                 int x = centerX + (int) (radius * Math.cos(angle));
                 int y = centerY + (int) (radius * Math.sin(angle));
                 positions.put(nodes[i], new Point(x, y));
-                drawNode(g2d, x, y, nodes[i]);
+            }
+            if (layoutX != null) fitLayout(positions);
+            for (String node : nodes) {
+                Point p = positions.get(node);
+                drawNode(g2d, p.x, p.y, node);
             }
             for (String node1 : nodes) {
                 Map<String, Integer> connections = networkTopology.getAdjMatrix().get(node1);
@@ -126,6 +143,25 @@ public class Network_Visual extends JFrame {
             }
         }
 
+        // Scales the force-directed positions to fill the panel, leaving room for the node circles
+        private void fitLayout(Map<String, Point> positions) {
+            float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (int i = 0; i < layoutX.length; i++) {
+                minX = Math.min(minX, layoutX[i]);
+                minY = Math.min(minY, layoutY[i]);
+                maxX = Math.max(maxX, layoutX[i]);
+                maxY = Math.max(maxY, layoutY[i]);
+            }
+            int margin = 40;
+            double scale = Math.min((getWidth() - 2 * margin) / Math.max(1e-3, maxX - minX),
+                    (getHeight() - 2 * margin) / Math.max(1e-3, maxY - minY));
+            for (int i = 0; i < layoutX.length; i++) {
+                int x = margin + (int) ((layoutX[i] - minX) * scale);
+                int y = margin + (int) ((layoutY[i] - minY) * scale);
+                positions.put(layoutGraph.nameOf(i), new Point(x, y));
+            }
+        }
+
         private void drawStarTopology(Graphics2D g2d) {
             if (networkTopology.getStarTopology().isEmpty()) return;
             int centerX = getWidth() / 2;
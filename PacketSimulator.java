@@ -0,0 +1,394 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Discrete-event simulation of packet transfers over a weighted topology.
+// Link weights are cable lengths in metres and every link has a cable type, which sets its
+// bandwidth and signal speed. A packet is serialized onto each link at the link bandwidth,
+// then takes the propagation delay to reach the next node. Each direction of a link has one
+// transmitter with a drop-tail FIFO queue, so flows that share a link wait for each other.
+// Packets follow the route with the least total cable length.
+// Events come from a CalendarQueue, and packets are pooled in primitive arrays, so a run
+// allocates nothing per event.
+class PacketSimulator {
+    enum CableType {
+        TWISTED_PAIR("Twisted pair", 100_000_000L, 0.64),
+        COAXIAL("Coaxial", 10_000_000L, 0.66),
+        FIBER_OPTIC("Fiber optic", 1_000_000_000L, 0.67);
+
+        final String label;
+        final long bitsPerSecond;
+        final double velocityFactor; // signal speed as a fraction of the speed of light
+
+        CableType(String label, long bitsPerSecond, double velocityFactor) {
+            this.label = label;
+            this.bitsPerSecond = bitsPerSecond;
+            this.velocityFactor = velocityFactor;
+        }
+
+        // Nanoseconds for the signal to cover the given number of metres
+        long propagationNanos(long metres) {
+            return Math.round(metres * 1e9 / (SPEED_OF_LIGHT * velocityFactor));
+        }
+
+        // Nanoseconds to put the given number of bytes on the wire
+        long serializationNanos(int bytes) {
+            return PacketSimulator.serializationNanos(bytes, bitsPerSecond);
+        }
+    }
+
+    private static final double SPEED_OF_LIGHT = 299_792_458.0;
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final int INJECT = 0;   // argA = flow
+    private static final int ARRIVE = 1;   // argA = packet, argB = node
+    private static final int TX_DONE = 2;  // argA = arc
+
+    // Delivery statistics of one flow
+    static class FlowStats {
+        final int source, destination;
+        long sent, delivered, dropped;
+        long deliveredBytes;
+        long firstSend = -1, lastDelivery = -1;
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        FlowStats(int source, int destination) {
+            this.source = source;
+            this.destination = destination;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        // Packets lost to full queues or because the destination is unreachable
+        public long getDropped() {
+            return dropped;
+        }
+
+        // One-way latency in nanoseconds at the given percentile (0-100)
+        public long getLatencyPercentile(double percentile) {
+            return latency.percentile(percentile);
+        }
+
+        public double getMeanLatency() {
+            return latency.mean();
+        }
+
+        public long getMaxLatency() {
+            return latency.max();
+        }
+
+        // Delivered bits per second between the first send and the last delivery
+        public double getThroughputBitsPerSecond() {
+            if (delivered == 0 || lastDelivery <= firstSend) return 0.0;
+            return deliveredBytes * 8e9 / (lastDelivery - firstSend);
+        }
+    }
+
+    static class Report {
+        final List<FlowStats> flows;
+        final long events;
+        final long simulatedNanos;
+        final long wallNanos;
+
+        Report(List<FlowStats> flows, long events, long simulatedNanos, long wallNanos) {
+            this.flows = flows;
+            this.events = events;
+            this.simulatedNanos = simulatedNanos;
+            this.wallNanos = wallNanos;
+        }
+
+        public FlowStats getFlow(int flow) {
+            return flows.get(flow);
+        }
+
+        public List<FlowStats> getFlows() {
+            return flows;
+        }
+
+        public long getEventCount() {
+            return events;
+        }
+
+        // Simulation clock when the last event was processed
+        public long getSimulatedNanos() {
+            return simulatedNanos;
+        }
+
+        public double getEventsPerSecond() {
+            return wallNanos > 0 ? events * 1e9 / wallNanos : 0.0;
+        }
+    }
+
+    // Log-linear latency histogram: 64 exact buckets, then 32 buckets per power of two (about 3% error)
+    static final class LatencyHistogram {
+        private final long[] counts = new long[64 + 59 * 32];
+        private long total, sum, max;
+
+        void record(long value) {
+            counts[index(value)]++;
+            total++;
+            sum += value;
+            if (value > max) max = value;
+        }
+
+        long percentile(double percentile) {
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, highestValue(i));
+            }
+            return max;
+        }
+
+        double mean() {
+            return total == 0 ? 0.0 : sum / (double) total;
+        }
+
+        long max() {
+            return max;
+        }
+
+        private static int index(long value) {
+            if (value < 64) return (int) Math.max(0, value);
+            int shift = 63 - Long.numberOfLeadingZeros(value) - 5;
+            return 64 + (shift - 1) * 32 + (int) ((value >>> shift) - 32);
+        }
+
+        private static long highestValue(int index) {
+            if (index < 64) return index;
+            int shift = (index - 64) / 32 + 1;
+            long top = 32 + (index - 64) % 32;
+            return ((top + 1) << shift) - 1;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final long[] arcPropagation;
+    private final long[] arcBitsPerSecond;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    // Flows
+    private int flowCount;
+    private int[] flowSource = new int[4], flowDestination = new int[4], flowBytes = new int[4];
+    private long[] flowPackets = new long[4], flowInterval = new long[4], flowStart = new long[4];
+    private final Map<Integer, int[]> nextArcByDestination = new HashMap<>();
+    private int[][] flowNextArc = new int[4][];
+
+    // Per-arc transmitter state
+    private final int[] arcCurrent;                  // packet being serialized, -1 when idle
+    private final int[] arcQueueHead, arcQueueTail, arcQueueLength;
+
+    // Packet pool
+    private int[] packetFlow = new int[64];
+    private long[] packetCreated = new long[64];
+    private int[] packetNext = new int[64];
+    private int packetFree = -1, packetsUsed;
+
+    private final CalendarQueue events = new CalendarQueue();
+    private ShortestPathRouter router;
+
+    PacketSimulator(CsrGraph graph, CableType cable) {
+        this.graph = graph;
+        int arcs = graph.arcCount();
+        arcBitsPerSecond = new long[arcs];
+        arcPropagation = new long[arcs];
+        for (int e = 0; e < arcs; e++) {
+            if (graph.weight(e) < 0) throw new IllegalArgumentException("Cable lengths must not be negative.");
+            arcBitsPerSecond[e] = cable.bitsPerSecond;
+            arcPropagation[e] = cable.propagationNanos(graph.weight(e));
+        }
+        arcCurrent = new int[arcs];
+        arcQueueHead = new int[arcs];
+        arcQueueTail = new int[arcs];
+        arcQueueLength = new int[arcs];
+    }
+
+    // Sets the cable type of the u - v link in both directions
+    public void setCable(int u, int v, CableType cable) {
+        int forward = graph.arcOf(u, v), backward = graph.arcOf(v, u);
+        if (forward < 0) throw new IllegalArgumentException("No link between " + graph.nameOf(u) + " and " + graph.nameOf(v));
+        arcBitsPerSecond[forward] = cable.bitsPerSecond;
+        arcPropagation[forward] = cable.propagationNanos(graph.weight(forward));
+        arcBitsPerSecond[backward] = cable.bitsPerSecond;
+        arcPropagation[backward] = cable.propagationNanos(graph.weight(backward));
+    }
+
+    // Packets that may wait behind the one being transmitted on each link direction
+    public void setQueueCapacity(int packets) {
+        if (packets < 0) throw new IllegalArgumentException("Queue capacity must not be negative.");
+        queueCapacity = packets;
+    }
+
+    // Constant-rate flow: packetCount packets of packetBytes, one every intervalNanos from startNanos
+    public int addFlow(int source, int destination, int packetBytes, long packetCount, long intervalNanos, long startNanos) {
+        if (packetBytes <= 0 || packetCount < 0 || intervalNanos < 0 || startNanos < 0) {
+            throw new IllegalArgumentException("Packet size must be positive and counts and times must not be negative.");
+        }
+        int f = flowCount++;
+        if (f == flowSource.length) {
+            int cap = f * 2;
+            flowSource = Arrays.copyOf(flowSource, cap);
+            flowDestination = Arrays.copyOf(flowDestination, cap);
+            flowBytes = Arrays.copyOf(flowBytes, cap);
+            flowPackets = Arrays.copyOf(flowPackets, cap);
+            flowInterval = Arrays.copyOf(flowInterval, cap);
+            flowStart = Arrays.copyOf(flowStart, cap);
+            flowNextArc = Arrays.copyOf(flowNextArc, cap);
+        }
+        flowSource[f] = source;
+        flowDestination[f] = destination;
+        flowBytes[f] = packetBytes;
+        flowPackets[f] = packetCount;
+        flowInterval[f] = intervalNanos;
+        flowStart[f] = startNanos;
+        return f;
+    }
+
+    // Runs every flow to completion
+    public Report run() {
+        return run(Long.MAX_VALUE);
+    }
+
+    // Runs until no events remain or the clock passes endNanos
+    public Report run(long endNanos) {
+        long wallStart = System.nanoTime();
+        events.clear();
+        Arrays.fill(arcCurrent, -1);
+        Arrays.fill(arcQueueLength, 0);
+        packetFree = -1;
+        packetsUsed = 0;
+        List<FlowStats> stats = new ArrayList<>(flowCount);
+        for (int f = 0; f < flowCount; f++) {
+            stats.add(new FlowStats(flowSource[f], flowDestination[f]));
+            flowNextArc[f] = nextArcsToward(flowDestination[f]);
+            if (flowPackets[f] > 0) events.schedule(flowStart[f], INJECT, f, 0);
+        }
+        long[] remaining = Arrays.copyOf(flowPackets, flowCount);
+
+        long processed = 0;
+        while (!events.isEmpty()) {
+            int ev = events.pollMin();
+            long now = events.time(ev);
+            int kind = events.type(ev), a = events.argA(ev), b = events.argB(ev);
+            events.release(ev);
+            if (now > endNanos) break;
+            processed++;
+            switch (kind) {
+                case INJECT: {
+                    FlowStats flow = stats.get(a);
+                    if (flow.firstSend < 0) flow.firstSend = now;
+                    flow.sent++;
+                    int p = newPacket(a, now);
+                    if (--remaining[a] > 0) events.schedule(now + flowInterval[a], INJECT, a, 0);
+                    arrive(p, flowSource[a], now, stats);
+                    break;
+                }
+                case ARRIVE:
+                    arrive(a, b, now, stats);
+                    break;
+                case TX_DONE: {
+                    int p = arcCurrent[a];
+                    events.schedule(now + arcPropagation[a], ARRIVE, p, graph.target(a));
+                    if (arcQueueLength[a] > 0) {
+                        int q = arcQueueHead[a];
+                        arcQueueHead[a] = packetNext[q];
+                        arcQueueLength[a]--;
+                        transmit(a, q, now);
+                    } else {
+                        arcCurrent[a] = -1;
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown event type " + kind);
+            }
+        }
+        return new Report(stats, processed, events.now(), System.nanoTime() - wallStart);
+    }
+
+    // Delivers the packet or hands it to the outgoing link toward its destination
+    private void arrive(int p, int node, long now, List<FlowStats> stats) {
+        int f = packetFlow[p];
+        FlowStats flow = stats.get(f);
+        if (node == flowDestination[f]) {
+            flow.delivered++;
+            flow.deliveredBytes += flowBytes[f];
+            flow.lastDelivery = now;
+            flow.latency.record(now - packetCreated[p]);
+            freePacket(p);
+            return;
+        }
+        int arc = flowNextArc[f][node];
+        if (arc < 0) {
+            flow.dropped++;
+            freePacket(p);
+        } else if (arcCurrent[arc] < 0) {
+            transmit(arc, p, now);
+        } else if (arcQueueLength[arc] < queueCapacity) {
+            packetNext[p] = -1;
+            if (arcQueueLength[arc] == 0) arcQueueHead[arc] = p;
+            else packetNext[arcQueueTail[arc]] = p;
+            arcQueueTail[arc] = p;
+            arcQueueLength[arc]++;
+        } else {
+            flow.dropped++;
+            freePacket(p);
+        }
+    }
+
+    private void transmit(int arc, int p, long now) {
+        arcCurrent[arc] = p;
+        events.schedule(now + serializationNanos(flowBytes[packetFlow[p]], arcBitsPerSecond[arc]), TX_DONE, arc, 0);
+    }
+
+    private static long serializationNanos(int bytes, long bitsPerSecond) {
+        return (bytes * 8_000_000_000L + bitsPerSecond - 1) / bitsPerSecond;
+    }
+
+    // Outgoing arc of every node on its shortest route to the destination, -1 if unreachable
+    private int[] nextArcsToward(int destination) {
+        return nextArcByDestination.computeIfAbsent(destination, d -> {
+            // Links are undirected, so the tree parent of v is v's next hop toward d
+            if (router == null) router = new ShortestPathRouter(graph);
+            ShortestPathRouter.Tree tree = router.shortestPathTree(d);
+            int[] nextArc = new int[graph.nodeCount()];
+            for (int v = 0; v < nextArc.length; v++) {
+                int parent = tree.parentOf(v);
+                nextArc[v] = parent < 0 ? -1 : graph.arcOf(v, parent);
+            }
+            return nextArc;
+        });
+    }
+
+    private int newPacket(int flow, long now) {
+        int p;
+        if (packetFree >= 0) {
+            p = packetFree;
+            packetFree = packetNext[p];
+        } else {
+            if (packetsUsed == packetFlow.length) {
+                int cap = packetsUsed * 2;
+                packetFlow = Arrays.copyOf(packetFlow, cap);
+                packetCreated = Arrays.copyOf(packetCreated, cap);
+                packetNext = Arrays.copyOf(packetNext, cap);
+            }
+            p = packetsUsed++;
+        }
+        packetFlow[p] = flow;
+        packetCreated[p] = now;
+        return p;
+    }
+
+    private void freePacket(int p) {
+        packetNext[p] = packetFree;
+        packetFree = p;
+    }
+}
@@ -0,0 +1,124 @@
+package mini_proj_dsa;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.LongStream;
+
+// Multi-core minimum spanning forest over primitive edge arrays using filter-Kruskal.
+// Links are ordered by (weight, input position), which is exactly the order a stable sort
+// gives Kruskal, so the chosen links are identical to MSTNetworkGUI's Kruskal result.
+// Large link sets are split around a sampled pivot: the light half is solved first, then the
+// heavy half is filtered in parallel against the lock-free union-find before it is sorted,
+// so most links that would close a cycle are never sorted at all.
+class ParallelMstEngine {
+    private static final int BASE_CASE = 1 << 16;
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final int nodeCount;
+    private final int[] src, dst, weight;
+    private final AtomicIntegerArray parent;
+    private final Random sampler = new Random(1);
+    private int[] result;
+    private int chosen;
+
+    // src[i] - dst[i] with weight[i] is link i; arrays are read but not modified
+    ParallelMstEngine(int nodeCount, int[] src, int[] dst, int[] weight) {
+        if (src.length != dst.length || src.length != weight.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        this.nodeCount = nodeCount;
+        this.src = src;
+        this.dst = dst;
+        this.weight = weight;
+        this.parent = new AtomicIntegerArray(nodeCount);
+    }
+
+    // Returns the indices of the chosen links in Kruskal order (by weight, then input position)
+    public int[] run() {
+        for (int i = 0; i < nodeCount; i++) parent.set(i, i);
+        result = new int[Math.max(0, nodeCount - 1)];
+        chosen = 0;
+        long[] keys = new long[src.length];
+        Arrays.parallelSetAll(keys, this::key);
+        filterKruskal(keys);
+        return Arrays.copyOf(result, chosen);
+    }
+
+    public long totalWeight(int[] mst) {
+        long total = 0;
+        for (int i : mst) total += weight[i];
+        return total;
+    }
+
+    private void filterKruskal(long[] keys) {
+        if (chosen == result.length || keys.length == 0) return;
+        if (keys.length <= BASE_CASE) {
+            Arrays.sort(keys);
+            kruskal(keys);
+            return;
+        }
+        long pivot = samplePivot(keys);
+        long[] light = LongStream.of(keys).parallel().filter(k -> k <= pivot).toArray();
+        long[] heavy = LongStream.of(keys).parallel().filter(k -> k > pivot).toArray();
+        if (heavy.length == 0) {
+            // Pivot was the maximum; sort everything at once
+            Arrays.parallelSort(light);
+            kruskal(light);
+            return;
+        }
+        filterKruskal(light);
+        if (chosen == result.length) return;
+        long[] remaining = LongStream.of(heavy).parallel().filter(k -> {
+            int i = (int) k;
+            return find(src[i]) != find(dst[i]);
+        }).toArray();
+        filterKruskal(remaining);
+    }
+
+    private void kruskal(long[] sortedKeys) {
+        for (long k : sortedKeys) {
+            int i = (int) k;
+            if (union(src[i], dst[i])) {
+                result[chosen++] = i;
+                if (chosen == result.length) return;
+            }
+        }
+    }
+
+    private long samplePivot(long[] keys) {
+        long[] sample = new long[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) sample[i] = keys[sampler.nextInt(keys.length)];
+        Arrays.sort(sample);
+        return sample[SAMPLE_SIZE / 2];
+    }
+
+    // Packs (weight, index) into one signed long that sorts by weight and then by index
+    private long key(int i) {
+        return (long) weight[i] << 32 | (i & 0xffffffffL);
+    }
+
+    // Lock-free find with path halving; a failed CAS only means another thread compressed first
+    private int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (gp != p) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    // Links the larger root under the smaller one with a CAS, retrying if a root moved
+    private boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a), rb = find(b);
+            if (ra == rb) return false;
+            if (ra < rb) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            if (parent.compareAndSet(ra, ra, rb)) return true;
+        }
+    }
+}
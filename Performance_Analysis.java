@@ -25,18 +25,92 @@ class Node {
 
 class Network {
     List<Node> nodes;
+    // Hop counts, off until cacheResults is called. Removing a node or link that is not on a
+    // result's path cannot make that path shorter or break it, so only results through it are
+    // dropped; a new link can shorten any route and makes every result out of date.
+    private ResultCache<List<Node>, Integer> hopCache;
+    private final Map<Node, Integer> elementIds = new IdentityHashMap<>();
 
     // Constructor to initialize the network with a list of nodes
     public Network(List<Node> nodes) {
         this.nodes = nodes;
     }
 
+    // Keeps up to capacity hop counts between topology changes; change links through
+    // addConnection, removeConnection and removeNode so the cached counts stay valid
+    public Network cacheResults(int capacity) {
+        hopCache = new ResultCache<>(capacity);
+        return this;
+    }
+
+    // Hit and invalidation counts of the result cache, or null without one
+    public ResultCache.Stats cacheStats() {
+        return hopCache == null ? null : hopCache.stats();
+    }
+
+    public void addConnection(Node a, Node b) {
+        a.addNeighbor(b);
+        b.addNeighbor(a);
+        if (hopCache != null) hopCache.invalidateAll();
+    }
+
+    public void removeConnection(Node a, Node b) {
+        a.neighbors.remove(b);
+        b.neighbors.remove(a);
+        if (hopCache != null) hopCache.invalidate(linkElement(a, b));
+    }
+
+    // Takes the node and its links out of the network
+    public void removeNode(Node node) {
+        for (Node neighbor : node.getNeighbors()) {
+            if (neighbor != node) neighbor.neighbors.remove(node);
+        }
+        node.neighbors.clear();
+        nodes.remove(node);
+        if (hopCache != null) hopCache.invalidate(elementId(node));
+    }
+
     // BFS for calculating the average transmission time (in hops) between source and destination
     public int bfsTransmissionTime(Node source, Node destination) {
         // If source or destination is null, return -1 (invalid input)
         if (source == null || destination == null) {
             return -1;
         }
+        if (hopCache == null) return bfsHops(source, destination, null);
+        List<Node> key = List.of(source, destination);
+        Integer hops = hopCache.get(key);
+        if (hops == null) {
+            Map<Node, Node> parent = new HashMap<>();
+            hops = bfsHops(source, destination, parent);
+            hopCache.put(key, hops, hops < 0 ? null : pathElements(destination, parent, hops));
+        }
+        return hops;
+    }
+
+    // Nodes and links on the path found, walked back from the destination
+    private long[] pathElements(Node destination, Map<Node, Node> parent, int hops) {
+        long[] elements = new long[2 * hops + 1];
+        int i = 0;
+        elements[i++] = elementId(destination);
+        for (Node v = destination, u = parent.get(v); u != null; v = u, u = parent.get(u)) {
+            elements[i++] = elementId(u);
+            elements[i++] = linkElement(u, v);
+        }
+        return elements;
+    }
+
+    private long elementId(Node node) {
+        return elementIds.computeIfAbsent(node, n -> elementIds.size());
+    }
+
+    // Links sit above the node id range in the cache's element space
+    private long linkElement(Node a, Node b) {
+        long u = elementId(a), v = elementId(b);
+        return ((Math.min(u, v) + 1) << 32) | Math.max(u, v);
+    }
+
+    // parent, when given, receives the BFS tree so the path can be walked back
+    private int bfsHops(Node source, Node destination, Map<Node, Node> parent) {
 
         Set<Node> visited = new HashSet<>();
         Queue<Node> queue = new LinkedList<>();
@@ -57,12 +131,35 @@ class Network {
                     visited.add(neighbor);
                     queue.add(neighbor);
                     distance.put(neighbor, distance.get(currentNode) + 1);
+                    if (parent != null) parent.put(neighbor, currentNode);
                 }
             }
         }
         return -1; // Return -1 if no path exists between the source and destination
     }
 
+    // Network-wide hop statistics over every source/destination pair
+    public AllPairsHopAnalyzer.Result analyzeTransmissionTimes() {
+        return AllPairsHopAnalyzer.analyze(toCsrGraph());
+    }
+
+    // Copy the nodes and their neighbor sets into a CSR graph (every link has weight 1)
+    public CsrGraph toCsrGraph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodes.size(), nodes.size());
+        Map<Node, Integer> index = new IdentityHashMap<>();
+        for (Node node : nodes) {
+            index.put(node, builder.addNode(node.name));
+        }
+        for (Node node : nodes) {
+            int u = index.get(node);
+            for (Node neighbor : node.getNeighbors()) {
+                Integer v = index.get(neighbor);
+                if (v != null && u <= v) builder.addEdge(u, v, 1);
+            }
+        }
+        return builder.build();
+    }
+
     // DFS for checking if all nodes are reachable (network connectivity)
     public boolean isFullyConnected() {
         Set<Node> visited = new HashSet<>();
@@ -85,17 +182,23 @@ class Network {
 
     // Check if the network is robust: Removing any node should not disconnect the network
     public boolean isNetworkRobust() {
-        for (Node node : nodes) {
-            List<Node> remainingNodes = new ArrayList<>(nodes);
-            remainingNodes.remove(node);  // Remove node from the network
-            Network subNetwork = new Network(remainingNodes);
+        return analyzeRobustness().isRobust();
+    }
 
-            // If removing the node disconnects the network, return false
-            if (!subNetwork.isFullyConnected()) {
-                return false; 
-            }
+    // Single-pass bridge and biconnected component analysis; results use toCsrGraph's node ids
+    public BiconnectedAnalyzer.Result analyzeRobustness() {
+        return BiconnectedAnalyzer.analyze(toCsrGraph());
+    }
+
+    // Same analysis with some nodes taken out of the network
+    public BiconnectedAnalyzer.Result analyzeRobustness(Set<Node> removedNodes) {
+        CsrGraph graph = toCsrGraph();
+        BitSet removed = new BitSet(graph.nodeCount());
+        for (Node node : removedNodes) {
+            int id = graph.idOf(node.name);
+            if (id >= 0) removed.set(id);
         }
-        return true;  // Network is robust if no node removal disconnects it
+        return BiconnectedAnalyzer.analyze(graph, removed);
     }
 }
 
@@ -103,6 +206,7 @@ public class Performance_Analysis {
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         List<Node> nodes = new ArrayList<>();
+        Map<String, Node> byName = new HashMap<>();
         
         // Input for node count
         System.out.print("Enter the number of nodes: ");
@@ -114,11 +218,13 @@ public class Performance_Analysis {
         for (int i = 0; i < nodeCount; i++) {
             String nodeName = scanner.nextLine();
             // Check for duplicate node names
-            if (getNodeByName(nodes, nodeName) != null) {
+            if (byName.containsKey(nodeName)) {
                 System.out.println("Node name " + nodeName + " already exists. Enter a unique name.");
                 i--;  // Decrement the counter to retry input for this node
             } else {
-                nodes.add(new Node(nodeName));
+                Node node = new Node(nodeName);
+                nodes.add(node);
+                byName.put(nodeName, node);
             }
         }
 
@@ -132,8 +238,8 @@ public class Performance_Analysis {
             String node1 = scanner.next();
             String node2 = scanner.next();
             scanner.nextLine();  // Consume newline left over
-            Node n1 = getNodeByName(nodes, node1);
-            Node n2 = getNodeByName(nodes, node2);
+            Node n1 = byName.get(node1);
+            Node n2 = byName.get(node2);
 
             // Error handling: Ensure both nodes exist before adding a connection
             if (n1 == null || n2 == null) {
@@ -152,8 +258,8 @@ public class Performance_Analysis {
         System.out.print("Enter destination node for transmission: ");
         String destName = scanner.next();
 
-        Node source = getNodeByName(nodes, sourceName);
-        Node destination = getNodeByName(nodes, destName);
+        Node source = byName.get(sourceName);
+        Node destination = byName.get(destName);
 
         // Error handling: Check if source or destination is null
         if (source == null || destination == null) {
@@ -166,7 +272,16 @@ public class Performance_Analysis {
         if (transmissionTime == -1) {
             System.out.println("No path found between source and destination.");
         } else {
-            System.out.println("Average Transmission Time (hops): " + transmissionTime);
+            System.out.println("Transmission Time from " + sourceName + " to " + destName + " (hops): " + transmissionTime);
+        }
+
+        // Network-wide average over all pairs, with diameter and hop distribution
+        AllPairsHopAnalyzer.Result hops = network.analyzeTransmissionTimes();
+        System.out.printf("Average Transmission Time (hops): %.3f%n", hops.getAverageHops());
+        System.out.println("Network Diameter (hops): " + hops.getDiameter());
+        System.out.println("Hop Distribution: " + Arrays.toString(hops.getHistogram()));
+        if (hops.getUnreachablePairs() > 0) {
+            System.out.println("Unreachable Pairs: " + hops.getUnreachablePairs());
         }
 
         // Check Node Reachability (if all nodes are reachable)
@@ -174,17 +289,9 @@ public class Performance_Analysis {
         System.out.println("Network Reachable: " + (isReachable ? "Yes" : "No"));
 
         // Check Network Robustness (resilience to node failure)
-        boolean isRobust = network.isNetworkRobust();
-        System.out.println("Network Robust: " + (isRobust ? "Yes" : "No"));
-    }
-
-    // Helper method to get node by name
-    private static Node getNodeByName(List<Node> nodes, String nodeName) {
-        for (Node node : nodes) {
-            if (node.name.equals(nodeName)) {
-                return node;
-            }
-        }
-        return null;  // Return null if node not found
+        BiconnectedAnalyzer.Result robustness = network.analyzeRobustness();
+        System.out.println("Network Robust: " + (robustness.isRobust() ? "Yes" : "No"));
+        System.out.println("Single points of failure (bridges): " + robustness.getBridges());
+        System.out.println("Biconnected component sizes: " + Arrays.toString(robustness.getComponentSizes()));
     }
 }
@@ -0,0 +1,191 @@
+package mini_proj_dsa;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Load generator for QueryServer: opens a number of connections to the server and keeps up to
+// depth pipelined requests outstanding on each for a fixed time. Requests are a random mix of
+// routes and reachability between nodes sampled from the server. Every response is timed from
+// the moment its request was written, and the report gives throughput and latency percentiles.
+class QueryLoadClient {
+    private static final int SAMPLE_NODES = 1000;
+
+    static class Report {
+        private final long requests, errors;
+        private final double seconds;
+        private final long[] latencies; // nanoseconds, sorted
+
+        Report(long requests, long errors, double seconds, long[] latencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.latencies = latencies;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getQueriesPerSecond() {
+            return requests / seconds;
+        }
+
+        // Latency in nanoseconds at the given percentile (0-100)
+        public long getLatencyPercentile(double p) {
+            if (latencies.length == 0) return 0;
+            int i = (int) Math.ceil(p / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, i))];
+        }
+
+        public long getMaxLatency() {
+            return latencies.length == 0 ? 0 : latencies[latencies.length - 1];
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private int connections = 4;
+    private int depth = 32;
+    private double seconds = 10;
+    private double routeShare = 0.5;
+    private long seed = 42L;
+
+    QueryLoadClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    QueryLoadClient connections(int connections) {
+        this.connections = connections;
+        return this;
+    }
+
+    // Requests kept outstanding per connection; 1 waits for every answer before the next request
+    QueryLoadClient depth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    QueryLoadClient seconds(double seconds) {
+        this.seconds = seconds;
+        return this;
+    }
+
+    // Fraction of route requests; the rest are reachability requests
+    QueryLoadClient routeShare(double share) {
+        this.routeShare = share;
+        return this;
+    }
+
+    QueryLoadClient seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    Report run() throws IOException, InterruptedException {
+        String[] nodes = sampleNodes();
+        long[][] latencies = new long[connections][];
+        int[] counts = new int[connections];
+        long[] errors = new long[connections];
+        IOException[] failure = new IOException[1];
+        Thread[] threads = new Thread[connections];
+        long start = System.nanoTime();
+        long deadline = start + (long) (seconds * 1e9);
+        for (int c = 0; c < connections; c++) {
+            int conn = c;
+            threads[c] = new Thread(() -> {
+                Random random = new Random(seed + conn);
+                long[] sentAt = new long[depth];
+                long[] own = new long[1 << 16];
+                int done = 0, sent = 0;
+                try (Socket socket = new Socket(host, port)) {
+                    socket.setTcpNoDelay(true);
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    for (; sent < depth; sent++) {
+                        sentAt[sent % depth] = System.nanoTime();
+                        out.write(request(random, nodes));
+                    }
+                    out.flush();
+                    while (done < sent) {
+                        String answer = in.readLine();
+                        if (answer == null) throw new EOFException("Server closed the connection");
+                        long now = System.nanoTime();
+                        if (done == own.length) own = Arrays.copyOf(own, own.length * 2);
+                        own[done] = now - sentAt[done % depth];
+                        if (!answer.startsWith("OK")) errors[conn]++;
+                        done++;
+                        if (now < deadline) {
+                            sentAt[sent % depth] = System.nanoTime();
+                            out.write(request(random, nodes));
+                            sent++;
+                        }
+                        if (!in.ready()) out.flush();
+                    }
+                } catch (IOException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+                latencies[conn] = own;
+                counts[conn] = done;
+            }, "query-load-" + c);
+            threads[c].start();
+        }
+        for (Thread t : threads) t.join();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (failure[0] != null) throw failure[0];
+
+        int total = 0;
+        long errorCount = 0;
+        for (int c = 0; c < connections; c++) {
+            total += counts[c];
+            errorCount += errors[c];
+        }
+        long[] all = new long[total];
+        for (int c = 0, at = 0; c < connections; c++) {
+            System.arraycopy(latencies[c], 0, all, at, counts[c]);
+            at += counts[c];
+        }
+        Arrays.sort(all);
+        return new Report(total, errorCount, elapsed, all);
+    }
+
+    private String request(Random random, String[] nodes) {
+        String a = nodes[random.nextInt(nodes.length)];
+        if (random.nextDouble() < routeShare) return "route " + a + " " + nodes[random.nextInt(nodes.length)] + "\n";
+        return "reach " + a + "\n";
+    }
+
+    // Names of up to SAMPLE_NODES random nodes, asked from the server
+    private String[] sampleNodes() throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            out.write("info\n");
+            out.flush();
+            String[] info = expectOk(in.readLine()).split(" ");
+            int n = Integer.parseInt(info[1]);
+            if (n == 0) throw new IOException("Server topology has no nodes");
+            int count = Math.min(n, SAMPLE_NODES);
+            Random random = new Random(seed);
+            for (int i = 0; i < count; i++) out.write("name " + (n <= SAMPLE_NODES ? i : random.nextInt(n)) + "\n");
+            out.write("quit\n");
+            out.flush();
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) names[i] = expectOk(in.readLine()).substring(3);
+            return names;
+        }
+    }
+
+    private static String expectOk(String answer) throws IOException {
+        if (answer == null || !answer.startsWith("OK")) throw new IOException("Unexpected answer: " + answer);
+        return answer;
+    }
+}
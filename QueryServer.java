@@ -0,0 +1,272 @@
+package mini_proj_dsa;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Embedded query server: loads a topology once into a TopologyStore and answers one request per
+// line over plain TCP, one response line per request in request order ("OK ..." or "ERR ...").
+// Clients may pipeline: each connection has a reader that hands every query to the shared
+// worker pool as soon as it arrives and a writer that sends the answers back in order, flushing
+// only when the next answer is not ready yet. At most MAX_IN_FLIGHT requests per connection are outstanding;
+// the reader stops reading until the writer catches up. The reader applies link, node and
+// weight changes itself and gives each query the snapshot that is current when the query is
+// read, so a connection's queries see exactly the changes it sent before them, and never a
+// half-applied one.
+//
+//   route <src> <dst>          OK <cost> <node> ... (OK -1 without a route)
+//   reach <start>              OK <reached> <active nodes> <percent>
+//   redundancy <src> <dst>     OK <edge-disjoint paths> <node-disjoint paths>
+//   mst                        OK <links> <total cost>
+//   fault                      OK <fault tolerance> <critical nodes>
+//   link <a> <b> up|down       OK <version>
+//   node <a> up|down           OK <version>
+//   weight <a> <b> <w>         OK <version>
+//   info                       OK <nodes> <links> <version>
+//   name <id>                  OK <name>
+//   quit                       OK bye, then the connection is closed
+class QueryServer implements Closeable {
+    static final int DEFAULT_PORT = 7070;
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final CompletableFuture<String> END = CompletableFuture.completedFuture(null);
+
+    // Whole-graph results of one snapshot version
+    private static final class Memo {
+        final TopologyStore.Snapshot snapshot;
+        final String answer;
+
+        Memo(TopologyStore.Snapshot snapshot, String answer) {
+            this.snapshot = snapshot;
+            this.answer = answer;
+        }
+    }
+
+    private final TopologyStore store;
+    private final ServerSocket socket;
+    private final ExecutorService workers;
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile Memo mst, fault;
+
+    // Listens on localhost; port 0 picks a free port
+    QueryServer(TopologyStore store, int port, int threads) throws IOException {
+        this.store = store;
+        this.socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        AtomicInteger ids = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "query-worker-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    int port() {
+        return socket.getLocalPort();
+    }
+
+    // Accepts connections on a background thread
+    QueryServer start() {
+        Thread acceptor = new Thread(this::run, "query-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    // Accepts connections until the server is closed
+    void run() {
+        while (!socket.isClosed()) {
+            try {
+                serve(socket.accept());
+            } catch (IOException e) {
+                if (!socket.isClosed()) System.out.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        workers.shutdownNow();
+    }
+
+    private void serve(Socket client) throws IOException {
+        client.setTcpNoDelay(true);
+        int id = connections.incrementAndGet();
+        BlockingQueue<CompletableFuture<String>> answers = new ArrayBlockingQueue<>(MAX_IN_FLIGHT);
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+
+        Thread reader = new Thread(() -> {
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String request = line.trim();
+                    if (request.isEmpty()) continue;
+                    if (request.equalsIgnoreCase("quit")) {
+                        answers.put(CompletableFuture.completedFuture("OK bye"));
+                        break;
+                    }
+                    TopologyStore.Snapshot snapshot = store.snapshot();
+                    answers.put(isUpdate(request)
+                            ? CompletableFuture.completedFuture(handle(request, snapshot))
+                            : CompletableFuture.supplyAsync(() -> handle(request, snapshot), workers));
+                }
+            } catch (IOException e) {
+                // Client went away; the writer closes the socket
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RejectedExecutionException e) {
+                // Server is closing
+            } finally {
+                answers.offer(END);
+            }
+        }, "query-reader-" + id);
+
+        Thread writer = new Thread(() -> {
+            try (client) {
+                while (true) {
+                    CompletableFuture<String> next = answers.take();
+                    if (next == END) break;
+                    out.write(next.join());
+                    out.write('\n');
+                    CompletableFuture<String> waiting = answers.peek();
+                    if (waiting == null || !waiting.isDone()) out.flush();
+                }
+                out.flush();
+            } catch (IOException e) {
+                // Client went away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Closing the socket ends a blocked readLine; this ends a put into a full queue
+                reader.interrupt();
+            }
+        }, "query-writer-" + id);
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+    }
+
+    // Answers one request line on the current snapshot; also usable without a socket
+    String handle(String request) {
+        return handle(request, store.snapshot());
+    }
+
+    // Queries read the given snapshot; changes always apply to the latest version
+    private String handle(String request, TopologyStore.Snapshot snapshot) {
+        String[] f = request.trim().split("\\s+");
+        try {
+            CsrGraph graph = snapshot.graph();
+            switch (f[0].toLowerCase()) {
+                case "route": {
+                    requireArgs(f, 3);
+                    ShortestPathRouter.Route route = snapshot.route(f[1], f[2]);
+                    if (!route.exists()) return "OK -1";
+                    StringBuilder sb = new StringBuilder("OK ").append(route.getCost());
+                    for (int v : route.getNodes()) sb.append(' ').append(graph.nameOf(v));
+                    return sb.toString();
+                }
+                case "reach": {
+                    requireArgs(f, 2);
+                    int reached = snapshot.reachableCount(node(graph, f[1]));
+                    int active = snapshot.activeNodeCount();
+                    return String.format("OK %d %d %.2f", reached, active, active > 0 ? reached * 100.0 / active : 0.0);
+                }
+                case "redundancy": {
+                    requireArgs(f, 3);
+                    int s = node(graph, f[1]), t = node(graph, f[2]);
+                    if (!snapshot.isNodeUp(s) || !snapshot.isNodeUp(t)) return "OK 0 0";
+                    DisjointPathFinder finder = new DisjointPathFinder(snapshot.toCsrGraph(), null, null);
+                    return "OK " + finder.edgeDisjointPaths(s, t).getPathCount() + " " + finder.nodeDisjointPaths(s, t).getPathCount();
+                }
+                case "mst": {
+                    Memo memo = mst;
+                    if (memo == null || memo.snapshot != snapshot) mst = memo = new Memo(snapshot, mst(snapshot.toCsrGraph()));
+                    return memo.answer;
+                }
+                case "fault": {
+                    Memo memo = fault;
+                    if (memo == null || memo.snapshot != snapshot) {
+                        CutVertexAnalyzer.Result result = CutVertexAnalyzer.analyze(snapshot.toCsrGraph());
+                        fault = memo = new Memo(snapshot, "OK " + result.getFaultTolerance() + " " + result.getCutVertices().length);
+                    }
+                    return memo.answer;
+                }
+                case "link": {
+                    requireArgs(f, 4);
+                    return "OK " + store.setLinkUp(f[1], f[2], parseState(f[3])).version();
+                }
+                case "node": {
+                    requireArgs(f, 3);
+                    return "OK " + store.setNodeUp(f[1], parseState(f[2])).version();
+                }
+                case "weight": {
+                    requireArgs(f, 4);
+                    return "OK " + store.setLinkWeight(f[1], f[2], Integer.parseInt(f[3])).version();
+                }
+                case "info":
+                    return "OK " + graph.nodeCount() + " " + graph.edgeCount() + " " + snapshot.version();
+                case "name": {
+                    requireArgs(f, 2);
+                    int id = Integer.parseInt(f[1]);
+                    if (id < 0 || id >= graph.nodeCount()) throw new IllegalArgumentException("No node " + id);
+                    return "OK " + graph.nameOf(id);
+                }
+                default:
+                    return "ERR Unknown request: " + f[0];
+            }
+        } catch (RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private static String mst(CsrGraph graph) {
+        int[] src = new int[graph.edgeCount()], dst = new int[graph.edgeCount()], weight = new int[graph.edgeCount()];
+        int m = 0;
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                if (u < graph.target(e)) {
+                    src[m] = u;
+                    dst[m] = graph.target(e);
+                    weight[m++] = graph.weight(e);
+                }
+            }
+        }
+        ParallelMstEngine engine = new ParallelMstEngine(graph.nodeCount(), Arrays.copyOf(src, m), Arrays.copyOf(dst, m), Arrays.copyOf(weight, m));
+        int[] tree = engine.run();
+        return "OK " + tree.length + " " + engine.totalWeight(tree);
+    }
+
+    private static boolean isUpdate(String request) {
+        String command = request.split("\\s+", 2)[0].toLowerCase();
+        return command.equals("link") || command.equals("node") || command.equals("weight");
+    }
+
+    private static int node(CsrGraph graph, String name) {
+        int id = graph.idOf(name);
+        if (id < 0) throw new IllegalArgumentException("Unknown node: " + name);
+        return id;
+    }
+
+    private static boolean parseState(String state) {
+        switch (state.toLowerCase()) {
+            case "up":
+                return true;
+            case "down":
+                return false;
+            default:
+                throw new IllegalArgumentException("Expected up or down: " + state);
+        }
+    }
+
+    private static void requireArgs(String[] f, int count) {
+        if (f.length < count) throw new IllegalArgumentException("Missing arguments for " + f[0]);
+    }
+}
@@ -0,0 +1,226 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Bounded cache of query results that depend on a topology that keeps changing.
+// Eviction is W-TinyLFU: new entries go into a small LRU window (1% of the capacity); an entry
+// pushed out of the window only replaces the least recently used entry of the main LRU area
+// if a count-min sketch of recent accesses says it is asked for more often, so a burst of
+// one-off queries cannot flush the results that keep being reused.
+// Each entry carries a footprint, the sorted ids of the topology elements (nodes, links) its
+// result depends on. invalidate(element) drops only the entries whose footprint holds the
+// element; invalidateAll() bumps the epoch, and entries of an older epoch count as missing.
+// Not thread-safe.
+final class ResultCache<K, V> {
+    private static final long[] NO_FOOTPRINT = new long[0];
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    // Counters since the cache was created
+    static final class Stats {
+        final long hits, misses, evictions, invalidations;
+        final int size;
+
+        Stats(long hits, long misses, long evictions, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : hits / (double) lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d misses (%.1f%% hit rate), %d evicted, %d invalidated, %d cached",
+                    hits, misses, getHitRate() * 100, evictions, invalidations, size);
+        }
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        V value;
+        long[] footprint;
+        long epoch;
+        boolean inWindow;
+        Entry<K, V> prev, next;
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final int windowCapacity, mainCapacity;
+    private final Entry<K, V> window = new Entry<>(null), main = new Entry<>(null); // list heads, most recent first
+    private int windowSize, mainSize;
+    private int current; // entries of the current epoch
+    private long epoch;
+    private long hits, misses, evictions, invalidations;
+
+    // Frequency sketch: 4-bit counters, 16 per long, halved every sampleSize increments
+    private final long[] sketch;
+    private final int sketchMask, sampleSize;
+    private int additions;
+
+    ResultCache(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+        windowCapacity = Math.max(1, capacity / 100);
+        mainCapacity = capacity - windowCapacity;
+        int slots = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        sketch = new long[slots];
+        sketchMask = slots - 1;
+        sampleSize = 10 * capacity;
+        for (Entry<K, V> head : Arrays.asList(window, main)) {
+            head.prev = head;
+            head.next = head;
+        }
+    }
+
+    // The cached result, or null if it is missing or out of date
+    V get(K key) {
+        int hash = spread(key.hashCode());
+        record(hash);
+        Entry<K, V> e = entries.get(key);
+        if (e == null || e.epoch != epoch) {
+            if (e != null) remove(e);
+            misses++;
+            return null;
+        }
+        hits++;
+        unlink(e);
+        linkFirst(e.inWindow ? window : main, e);
+        return e.value;
+    }
+
+    // Caches the result; footprint lists the element ids it depends on, in any order
+    void put(K key, V value, long[] footprint) {
+        long[] sorted = footprint == null || footprint.length == 0 ? NO_FOOTPRINT : footprint.clone();
+        Arrays.sort(sorted);
+        Entry<K, V> e = entries.get(key);
+        if (e != null) {
+            if (e.epoch != epoch) current++;
+            e.value = value;
+            e.footprint = sorted;
+            e.epoch = epoch;
+            unlink(e);
+            linkFirst(e.inWindow ? window : main, e);
+            return;
+        }
+        e = new Entry<>(key);
+        e.value = value;
+        e.footprint = sorted;
+        e.epoch = epoch;
+        e.inWindow = true;
+        current++;
+        entries.put(key, e);
+        linkFirst(window, e);
+        windowSize++;
+        if (windowSize > windowCapacity) admit(window.prev);
+    }
+
+    // Moves the window's oldest entry to the main area, or evicts it if the main area's oldest
+    // entry is used more often
+    private void admit(Entry<K, V> candidate) {
+        unlink(candidate);
+        windowSize--;
+        candidate.inWindow = false;
+        if (mainSize < mainCapacity) {
+            linkFirst(main, candidate);
+            mainSize++;
+            return;
+        }
+        Entry<K, V> victim = main.prev;
+        boolean stale = victim.epoch != epoch;
+        if (!stale && frequency(spread(candidate.key.hashCode())) <= frequency(spread(victim.key.hashCode()))) {
+            victim = candidate;
+        } else {
+            unlink(victim);
+            linkFirst(main, candidate);
+        }
+        entries.remove(victim.key);
+        if (victim.epoch == epoch) {
+            current--;
+            evictions++;
+        }
+    }
+
+    // Drops every entry whose result depends on the element
+    void invalidate(long element) {
+        Iterator<Entry<K, V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry<K, V> e = it.next();
+            boolean stale = e.epoch != epoch;
+            if (!stale && Arrays.binarySearch(e.footprint, element) < 0) continue;
+            it.remove();
+            unlink(e);
+            if (e.inWindow) windowSize--;
+            else mainSize--;
+            if (!stale) {
+                current--;
+                invalidations++;
+            }
+        }
+    }
+
+    // Makes every cached result out of date in O(1); the entries are dropped when next touched
+    void invalidateAll() {
+        invalidations += current;
+        current = 0;
+        epoch++;
+    }
+
+    Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, current);
+    }
+
+    // Drops an entry of an older epoch
+    private void remove(Entry<K, V> e) {
+        entries.remove(e.key);
+        unlink(e);
+        if (e.inWindow) windowSize--;
+        else mainSize--;
+    }
+
+    private void linkFirst(Entry<K, V> head, Entry<K, V> e) {
+        e.prev = head;
+        e.next = head.next;
+        head.next.prev = e;
+        head.next = e;
+    }
+
+    private void unlink(Entry<K, V> e) {
+        e.prev.next = e.next;
+        e.next.prev = e.prev;
+    }
+
+    private void record(int hash) {
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = spread(hash + SEEDS[i]);
+            int slot = (h >>> 4) & sketchMask, shift = (h & 15) << 2;
+            if (((sketch[slot] >>> shift) & 15) < 15) sketch[slot] += 1L << shift;
+        }
+        if (++additions == sampleSize) {
+            for (int i = 0; i < sketch.length; i++) sketch[i] = (sketch[i] >>> 1) & 0x7777777777777777L;
+            additions /= 2;
+        }
+    }
+
+    private int frequency(int hash) {
+        int min = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = spread(hash + SEEDS[i]);
+            min = Math.min(min, (int) ((sketch[(h >>> 4) & sketchMask] >>> ((h & 15) << 2)) & 15));
+        }
+        return min;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45D9F3B;
+        return h ^ (h >>> 16);
+    }
+}
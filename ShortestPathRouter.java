@@ -0,0 +1,265 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Weighted shortest-path routing over a CsrGraph using Dijkstra with an indexed heap.
+// Scratch arrays are kept between queries and invalidated with an epoch stamp, so a
+// point-to-point query only touches the nodes it settles. Bound to a TopologyStore snapshot,
+// routes skip links and nodes that are down and use the snapshot's weights. Not safe for
+// concurrent use; create one router per thread.
+class ShortestPathRouter {
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    // Cheapest route between two nodes
+    static class Route {
+        final long cost;
+        final int[] nodes;
+        final CsrGraph graph;
+
+        Route(long cost, int[] nodes, CsrGraph graph) {
+            this.cost = cost;
+            this.nodes = nodes;
+            this.graph = graph;
+        }
+
+        public boolean exists() {
+            return nodes.length > 0;
+        }
+
+        // Total link weight, or -1 if there is no route
+        public long getCost() {
+            return exists() ? cost : -1;
+        }
+
+        public int[] getNodes() {
+            return nodes.clone();
+        }
+
+        public List<String> getNodeNames() {
+            List<String> names = new ArrayList<>(nodes.length);
+            for (int id : nodes) names.add(graph.nameOf(id));
+            return names;
+        }
+    }
+
+    // Single-source shortest-path tree
+    static class Tree {
+        final int source;
+        final long[] distance;
+        final int[] parent;
+
+        Tree(int source, long[] distance, int[] parent) {
+            this.source = source;
+            this.distance = distance;
+            this.parent = parent;
+        }
+
+        // Cost from the source, or -1 if unreachable
+        public long distanceTo(int node) {
+            return distance[node] == UNREACHABLE ? -1 : distance[node];
+        }
+
+        // Predecessor of the node on its shortest path, -1 for the source and unreachable nodes
+        public int parentOf(int node) {
+            return parent[node];
+        }
+
+        public int[] pathTo(int node) {
+            if (distance[node] == UNREACHABLE) return new int[0];
+            int len = 0;
+            for (int v = node; v >= 0; v = parent[v]) len++;
+            int[] path = new int[len];
+            for (int v = node; v >= 0; v = parent[v]) path[--len] = v;
+            return path;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final int[] offsets, targets, weights;
+    private final long[] distF, distB;
+    private final int[] parentF, parentB;
+    private final int[] stampF, stampB;
+    private final boolean[] settledF, settledB;
+    private final IndexedMinHeap heapF, heapB;
+    private int epoch;
+    private TopologyStore.Snapshot state; // null: every link is up with the graph's weight
+
+    ShortestPathRouter(CsrGraph graph) {
+        this.graph = graph;
+        this.offsets = graph.offsets();
+        this.targets = graph.targets();
+        this.weights = graph.weights();
+        for (int w : weights) {
+            if (w < 0) throw new IllegalArgumentException("Link weights must not be negative: " + w);
+        }
+        int n = graph.nodeCount();
+        distF = new long[n];
+        distB = new long[n];
+        parentF = new int[n];
+        parentB = new int[n];
+        stampF = new int[n];
+        stampB = new int[n];
+        settledF = new boolean[n];
+        settledB = new boolean[n];
+        heapF = new IndexedMinHeap(n);
+        heapB = new IndexedMinHeap(n);
+    }
+
+    // Routes from now on follow the link state of the snapshot, which must be of this router's graph
+    ShortestPathRouter on(TopologyStore.Snapshot snapshot) {
+        if (snapshot.graph() != graph) throw new IllegalArgumentException("Snapshot of a different graph");
+        state = snapshot;
+        return this;
+    }
+
+    public Route route(String from, String to) {
+        int s = graph.idOf(from), t = graph.idOf(to);
+        if (s < 0 || t < 0) throw new IllegalArgumentException("Unknown node: " + (s < 0 ? from : to));
+        return routeBidirectional(s, t);
+    }
+
+    // Unidirectional Dijkstra that stops as soon as the destination is settled
+    public Route route(int source, int target) {
+        nextEpoch();
+        if (isDown(source) || isDown(target)) return new Route(0, new int[0], graph);
+        reach(stampF, distF, parentF, settledF, source, 0, -1);
+        heapF.pushOrDecrease(source, 0);
+        while (!heapF.isEmpty()) {
+            int u = heapF.pollMin();
+            settledF[u] = true;
+            if (u == target) break;
+            relax(u, distF, parentF, stampF, settledF, heapF);
+        }
+        heapF.clear();
+        if (stampF[target] != epoch || !settledF[target]) return new Route(0, new int[0], graph);
+        return new Route(distF[target], walk(parentF, target, true), graph);
+    }
+
+    // Bidirectional Dijkstra: alternates a forward search from the source and a backward
+    // search from the target and stops once the two frontiers cannot improve the best meeting
+    public Route routeBidirectional(int source, int target) {
+        nextEpoch();
+        if (isDown(source) || isDown(target)) return new Route(0, new int[0], graph);
+        if (source == target) return new Route(0, new int[]{source}, graph);
+        reach(stampF, distF, parentF, settledF, source, 0, -1);
+        reach(stampB, distB, parentB, settledB, target, 0, -1);
+        heapF.pushOrDecrease(source, 0);
+        heapB.pushOrDecrease(target, 0);
+        long best = UNREACHABLE;
+        int meet = -1;
+        while (!heapF.isEmpty() && !heapB.isEmpty()) {
+            if (heapF.minKey() + heapB.minKey() >= best) break;
+            boolean forward = heapF.size() <= heapB.size();
+            IndexedMinHeap heap = forward ? heapF : heapB;
+            long[] dist = forward ? distF : distB;
+            int[] parent = forward ? parentF : parentB;
+            int[] stamp = forward ? stampF : stampB;
+            boolean[] settled = forward ? settledF : settledB;
+            long[] otherDist = forward ? distB : distF;
+            int[] otherStamp = forward ? stampB : stampF;
+
+            int u = heap.pollMin();
+            settled[u] = true;
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int w = state == null ? weights[e] : state.routeWeight(e, v);
+                if (w < 0) continue;
+                long nd = dist[u] + w;
+                if (stamp[v] != epoch) {
+                    reach(stamp, dist, parent, settled, v, nd, u);
+                    heap.pushOrDecrease(v, nd);
+                } else if (!settled[v] && nd < dist[v]) {
+                    dist[v] = nd;
+                    parent[v] = u;
+                    heap.pushOrDecrease(v, nd);
+                }
+                if (otherStamp[v] == epoch && dist[v] + otherDist[v] < best) {
+                    best = dist[v] + otherDist[v];
+                    meet = v;
+                }
+            }
+        }
+        heapF.clear();
+        heapB.clear();
+        if (meet < 0) return new Route(0, new int[0], graph);
+        int[] head = walk(parentF, meet, true);
+        int[] tail = walk(parentB, meet, false);
+        int[] path = Arrays.copyOf(head, head.length + tail.length - 1);
+        System.arraycopy(tail, 1, path, head.length, tail.length - 1);
+        return new Route(best, path, graph);
+    }
+
+    // Full single-source shortest-path tree, e.g. for highlighting in a visualizer;
+    // nothing is reachable from a source that is down
+    public Tree shortestPathTree(int source) {
+        nextEpoch();
+        if (!isDown(source)) {
+            reach(stampF, distF, parentF, settledF, source, 0, -1);
+            heapF.pushOrDecrease(source, 0);
+            while (!heapF.isEmpty()) {
+                int u = heapF.pollMin();
+                settledF[u] = true;
+                relax(u, distF, parentF, stampF, settledF, heapF);
+            }
+        }
+        int n = graph.nodeCount();
+        long[] distance = new long[n];
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            boolean seen = stampF[v] == epoch;
+            distance[v] = seen ? distF[v] : UNREACHABLE;
+            parent[v] = seen ? parentF[v] : -1;
+        }
+        return new Tree(source, distance, parent);
+    }
+
+    private void relax(int u, long[] dist, int[] parent, int[] stamp, boolean[] settled, IndexedMinHeap heap) {
+        long du = dist[u];
+        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+            int v = targets[e];
+            int w = state == null ? weights[e] : state.routeWeight(e, v);
+            if (w < 0) continue;
+            long nd = du + w;
+            if (stamp[v] != epoch) {
+                reach(stamp, dist, parent, settled, v, nd, u);
+                heap.pushOrDecrease(v, nd);
+            } else if (!settled[v] && nd < dist[v]) {
+                dist[v] = nd;
+                parent[v] = u;
+                heap.pushOrDecrease(v, nd);
+            }
+        }
+    }
+
+    private boolean isDown(int node) {
+        return state != null && !state.isNodeUp(node);
+    }
+
+    private void reach(int[] stamp, long[] dist, int[] parent, boolean[] settled, int v, long d, int p) {
+        stamp[v] = epoch;
+        dist[v] = d;
+        parent[v] = p;
+        settled[v] = false;
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stampF, 0);
+            Arrays.fill(stampB, 0);
+            epoch = 1;
+        }
+    }
+
+    // Follows parent links from the node; forward=true returns the path ending at the node
+    private static int[] walk(int[] parent, int node, boolean forward) {
+        int len = 0;
+        for (int v = node; v >= 0; v = parent[v]) len++;
+        int[] path = new int[len];
+        int i = forward ? len : -1;
+        for (int v = node; v >= 0; v = parent[v]) {
+            if (forward) path[--i] = v;
+            else path[++i] = v;
+        }
+        return path;
+    }
+}
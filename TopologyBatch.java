@@ -0,0 +1,286 @@
+package mini_proj_dsa;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// A batch of node and link changes applied to a CsrGraph in one pass.
+// Names are resolved once, when an operation is recorded, through a hashed symbol table that
+// starts with the base graph's nodes. Operations are only appended to primitive arrays; apply()
+// then groups them by their lower endpoint, sorts each group by (other endpoint, sequence) in
+// parallel and merges it with the base graph's row, so every link is decided in one step.
+// Within a link the operations keep their order: a removal (of the link or of either node)
+// discards everything before it, and the adds after it are merged with the weight policy.
+final class TopologyBatch {
+    // How repeated adds of one link combine their weights, here and in CsrGraph.fromLinks:
+    // the lowest, the highest or the last added weight. CsrGraph.Builder always keeps the last.
+    enum WeightPolicy { MIN, MAX, LAST }
+
+    private static final byte ADD = 0, REMOVE = 1;
+
+    private final CsrGraph base;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names;
+    private int nodeCount;
+    private int[] lastMention;  // sequence of the last operation that added or used the node, -1 for base nodes
+    private int[] removedAt;    // sequence of the last removal of the node, -1 if never removed
+    private int[] opU = new int[16], opV = new int[16], opWeight = new int[16], opSeq = new int[16];
+    private byte[] opKind = new byte[16];
+    private int opCount;        // link operations
+    private int sequence;       // all operations, nodes included
+    private WeightPolicy policy = WeightPolicy.LAST;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    TopologyBatch() {
+        this(null);
+    }
+
+    // Changes to an existing graph; base node names keep their meaning
+    TopologyBatch(CsrGraph base) {
+        this.base = base;
+        int n = base == null ? 0 : base.nodeCount();
+        names = new String[Math.max(16, n)];
+        lastMention = new int[names.length];
+        removedAt = new int[names.length];
+        for (int u = 0; u < n; u++) {
+            names[u] = base.nameOf(u);
+            ids.put(names[u], u);
+        }
+        nodeCount = n;
+        Arrays.fill(lastMention, -1);
+        Arrays.fill(removedAt, -1);
+    }
+
+    // Reads a change file with one operation per line: "add A B [weight]", "remove A B",
+    // "add-node A" or "remove-node A", separated by spaces, tabs or commas. Blank lines and
+    // lines starting with '#' are skipped.
+    static TopologyBatch read(CsrGraph base, Path changes) throws IOException {
+        TopologyBatch batch = new TopologyBatch(base);
+        try (BufferedReader reader = Files.newBufferedReader(changes, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] f = line.split("[\\s,]+");
+                String op = f[0].toLowerCase();
+                int need = op.equals("add") || op.equals("remove") ? 3 : 2;
+                if (f.length < need || f.length > need + (op.equals("add") ? 1 : 0)) {
+                    throw new IllegalArgumentException("Line " + lineNo + ": malformed change: " + line);
+                }
+                switch (op) {
+                    case "add":
+                        batch.addLink(f[1], f[2], f.length > 3 ? parseWeight(f[3], lineNo) : 1);
+                        break;
+                    case "remove":
+                        batch.removeLink(f[1], f[2]);
+                        break;
+                    case "add-node":
+                        batch.addNode(f[1]);
+                        break;
+                    case "remove-node":
+                        batch.removeNode(f[1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Line " + lineNo + ": unknown change: " + f[0]);
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static int parseWeight(String text, int lineNo) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNo + ": weight is not a number: " + text);
+        }
+    }
+
+    // How repeated adds of the same link combine their weights; the default keeps the last one
+    TopologyBatch weightPolicy(WeightPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    TopologyBatch pool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // Number of recorded operations
+    int size() {
+        return sequence;
+    }
+
+    TopologyBatch addNode(String name) {
+        int u = intern(name);
+        lastMention[u] = nextSequence();
+        return this;
+    }
+
+    // Removes the node and every link it has at this point; unknown names are ignored
+    TopologyBatch removeNode(String name) {
+        Integer u = ids.get(name);
+        if (u != null) removedAt[u] = nextSequence();
+        return this;
+    }
+
+    TopologyBatch addLink(String node1, String node2, int weight) {
+        int u = intern(node1), v = intern(node2);
+        int seq = record(u, v, weight, ADD);
+        lastMention[u] = seq;
+        lastMention[v] = seq;
+        return this;
+    }
+
+    // Unknown names are ignored
+    TopologyBatch removeLink(String node1, String node2) {
+        Integer u = ids.get(node1), v = ids.get(node2);
+        if (u != null && v != null) record(u, v, 0, REMOVE);
+        return this;
+    }
+
+    private int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        if (nodeCount == names.length) {
+            int cap = nodeCount * 2;
+            names = Arrays.copyOf(names, cap);
+            lastMention = Arrays.copyOf(lastMention, cap);
+            removedAt = Arrays.copyOf(removedAt, cap);
+            Arrays.fill(removedAt, nodeCount, cap, -1);
+        }
+        names[nodeCount] = name;
+        ids.put(name, nodeCount);
+        return nodeCount++;
+    }
+
+    private int nextSequence() {
+        if (sequence == Integer.MAX_VALUE) throw new IllegalStateException("Batch is full");
+        return sequence++;
+    }
+
+    // Appends a link operation and returns its sequence number
+    private int record(int u, int v, int weight, byte kind) {
+        if (opCount == opU.length) {
+            int cap = opCount * 2;
+            opU = Arrays.copyOf(opU, cap);
+            opV = Arrays.copyOf(opV, cap);
+            opWeight = Arrays.copyOf(opWeight, cap);
+            opSeq = Arrays.copyOf(opSeq, cap);
+            opKind = Arrays.copyOf(opKind, cap);
+        }
+        opU[opCount] = Math.min(u, v);
+        opV[opCount] = Math.max(u, v);
+        opWeight[opCount] = weight;
+        opKind[opCount] = kind;
+        opSeq[opCount] = nextSequence();
+        return opSeq[opCount++];
+    }
+
+    // Builds the changed graph; the base graph and this batch are left untouched.
+    // Removed nodes disappear and the remaining nodes are renumbered in their original order.
+    CsrGraph apply() {
+        int n = nodeCount, m = opCount;
+        // Counting sort of the link operations by lower endpoint keeps them in sequence order
+        int[] start = new int[n + 1];
+        for (int k = 0; k < m; k++) start[opU[k] + 1]++;
+        for (int u = 0; u < n; u++) start[u + 1] += start[u];
+        long[] group = new long[start[n]];
+        int[] next = Arrays.copyOf(start, n);
+        for (int k = 0; k < m; k++) group[next[opU[k]]++] = ((long) opV[k] << 32) | k;
+
+        // Each row: sort by (other endpoint, operation index), merge with the base row, count the links
+        int[] linkStart = new int[n + 1];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+            Arrays.sort(group, start[u], start[u + 1]);
+            linkStart[u + 1] = mergeRow(u, group, start[u], start[u + 1], null, null, null, 0);
+        })).join();
+        Arrays.parallelPrefix(linkStart, Integer::sum);
+        int links = linkStart[n];
+        int[] src = new int[links], dst = new int[links], weight = new int[links];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u ->
+                mergeRow(u, group, start[u], start[u + 1], src, dst, weight, linkStart[u]))).join();
+
+        int[] newId = new int[n];
+        int kept = 0;
+        for (int u = 0; u < n; u++) newId[u] = isPresent(u) ? kept++ : -1;
+        String[] keptNames = new String[kept];
+        for (int u = 0; u < n; u++) {
+            if (newId[u] >= 0) keptNames[newId[u]] = names[u];
+        }
+        pool.submit(() -> IntStream.range(0, links).parallel().forEach(i -> {
+            src[i] = newId[src[i]];
+            dst[i] = newId[dst[i]];
+        })).join();
+        return CsrGraph.fromLinks(keptNames, src, dst, weight, true, WeightPolicy.LAST, pool);
+    }
+
+    private boolean isPresent(int u) {
+        return removedAt[u] < 0 || lastMention[u] > removedAt[u];
+    }
+
+    // Walks the base row of u (links to v >= u) and the sorted operations of u together.
+    // Writes the surviving links from position out when src is given; returns how many survive.
+    private int mergeRow(int u, long[] group, int from, int to, int[] src, int[] dst, int[] weight, int out) {
+        int count = 0;
+        int b = 0, bEnd = 0;
+        if (base != null && u < base.nodeCount()) {
+            bEnd = base.endArc(u);
+            b = base.firstArc(u);
+            while (b < bEnd && base.target(b) < u) b++;
+        }
+        int g = from;
+        while (b < bEnd || g < to) {
+            int v = g < to ? (int) (group[g] >>> 32) : Integer.MAX_VALUE;
+            if (b < bEnd && base.target(b) <= v) v = base.target(b);
+            // A node removal wipes every earlier state of its links
+            int cutoff = Math.max(removedAt[u], removedAt[v]);
+            boolean present = false;
+            int w = 0;
+            if (b < bEnd && base.target(b) == v) {
+                if (cutoff < 0) {
+                    present = true;
+                    w = base.weight(b);
+                }
+                b++;
+            }
+            for (; g < to && (int) (group[g] >>> 32) == v; g++) {
+                int k = (int) group[g];
+                if (opSeq[k] < cutoff) continue;
+                if (opKind[k] == REMOVE) {
+                    present = false;
+                } else {
+                    w = present ? combine(w, opWeight[k]) : opWeight[k];
+                    present = true;
+                }
+            }
+            if (!present) continue;
+            if (src != null) {
+                src[out + count] = u;
+                dst[out + count] = v;
+                weight[out + count] = w;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private int combine(int current, int added) {
+        switch (policy) {
+            case MIN:
+                return Math.min(current, added);
+            case MAX:
+                return Math.max(current, added);
+            default:
+                return added;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package mini_proj_dsa;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Seeded synthetic topologies at any scale: bus, ring, star, k-ary tree, full mesh, random
+// (Erdos-Renyi G(n, m)), scale-free (Barabasi-Albert), grid, torus and k-ary fat-tree.
+// Links are produced in fixed blocks, each drawing from its own SplittableRandom derived from
+// the seed and block number, so the output does not depend on the number of cores.
+// Barabasi-Albert uses the Batagelj-Brandes edge list, where a new link copies the endpoint
+// stored in a random earlier slot. Every slot hashes its own random choice, so each link can
+// follow the chain of copies back on its own and all links are generated in parallel
+// (Sanders and Schulz).
+// Random, scale-free and small torus topologies can repeat a link. When the links are frozen,
+// self loops are dropped and a repeated link keeps the weight of its last copy, the same graph
+// CsrGraph.Builder builds from the links without their self loops.
+final class TopologyGenerator {
+    private static final int BLOCK = 1 << 16;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    // Distribution of link weights; each call draws one weight from the block's random stream
+    interface Weights {
+        int sample(SplittableRandom random);
+
+        static Weights constant(int weight) {
+            if (weight < 1) throw new IllegalArgumentException("Weights must be positive: " + weight);
+            return random -> weight;
+        }
+
+        // Uniform in lo..hi inclusive
+        static Weights uniform(int lo, int hi) {
+            if (lo > hi) throw new IllegalArgumentException("Empty weight range: " + lo + ".." + hi);
+            if (lo < 1) throw new IllegalArgumentException("Weights must be positive: " + lo + ".." + hi);
+            return random -> random.nextInt(lo, hi + 1);
+        }
+
+        // Rounded normal, at least 1
+        static Weights normal(double mean, double deviation) {
+            if (!(mean > 0) || !(deviation >= 0)) {
+                throw new IllegalArgumentException("Mean must be positive and deviation not negative: " + mean + ", " + deviation);
+            }
+            return random -> {
+                // Box-Muller from two uniforms of the stream
+                double u = 1.0 - random.nextDouble(), v = random.nextDouble();
+                double g = Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+                return (int) Math.max(1, Math.round(mean + deviation * g));
+            };
+        }
+
+        // Exponential rounded up, at least 1
+        static Weights exponential(double mean) {
+            if (!(mean > 0)) throw new IllegalArgumentException("Mean must be positive: " + mean);
+            return random -> (int) Math.max(1, Math.ceil(-mean * Math.log(1.0 - random.nextDouble())));
+        }
+
+        // Parses constant:W, uniform:LO:HI, normal:MEAN:SD or exponential:MEAN; weights must be positive
+        static Weights parse(String spec) {
+            String[] part = spec.toLowerCase().split(":");
+            try {
+                switch (part[0]) {
+                    case "constant":
+                        return constant(Integer.parseInt(part[1]));
+                    case "uniform":
+                        return uniform(Integer.parseInt(part[1]), Integer.parseInt(part[2]));
+                    case "normal":
+                        return normal(Double.parseDouble(part[1]), Double.parseDouble(part[2]));
+                    case "exponential":
+                        return exponential(Double.parseDouble(part[1]));
+                    default:
+                        break;
+                }
+            } catch (ArrayIndexOutOfBoundsException e) {
+                // Falls through to the usage message below
+            }
+            throw new IllegalArgumentException("Unknown weights: " + spec
+                    + " (use constant:W, uniform:LO:HI, normal:MEAN:SD or exponential:MEAN)");
+        }
+    }
+
+    // Generated links src[i] - dst[i] with weight[i] over nodes 0..nodeCount-1
+    static final class Links {
+        final int nodeCount;
+        final int[] src, dst, weight;
+        private final ForkJoinPool pool;
+
+        private Links(int nodeCount, int[] src, int[] dst, int[] weight, ForkJoinPool pool) {
+            this.nodeCount = nodeCount;
+            this.src = src;
+            this.dst = dst;
+            this.weight = weight;
+            this.pool = pool;
+        }
+
+        int linkCount() {
+            return src.length;
+        }
+
+        static String nameOf(int node) {
+            return "N" + node;
+        }
+
+        // Freezes the links into a CsrGraph with nodes named N0, N1, ...
+        CsrGraph toCsrGraph() {
+            String[] names = new String[nodeCount];
+            pool.submit(() -> IntStream.range(0, nodeCount).parallel().forEach(i -> names[i] = nameOf(i))).join();
+            return CsrGraph.fromLinks(names, src, dst, weight, false, TopologyBatch.WeightPolicy.LAST, pool);
+        }
+    }
+
+    // Writes links from..to-1 of a topology, drawing any randomness from the block's stream
+    private interface BlockFiller {
+        void fill(int from, int to, SplittableRandom random, int[] src, int[] dst);
+    }
+
+    private final long seed;
+    private Weights weights = Weights.uniform(1, 100);
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    TopologyGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    TopologyGenerator weights(Weights weights) {
+        this.weights = weights;
+        return this;
+    }
+
+    TopologyGenerator pool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // Named topology with its size parameters, as used by the command line.
+    // size is the node count, except rows for grid and torus and the port count k for fattree;
+    // param is the tree arity, the average degree of random, the links per new node of
+    // scalefree and the column count of grid and torus.
+    Links generate(String type, int size, int param) {
+        switch (type.toLowerCase()) {
+            case "bus":
+                return bus(size);
+            case "ring":
+                return ring(size);
+            case "star":
+                return star(size);
+            case "tree":
+                return tree(size, param > 0 ? param : 2);
+            case "mesh":
+                return mesh(size);
+            case "random":
+                return erdosRenyi(size, (long) size * (param > 0 ? param : 4) / 2);
+            case "scalefree":
+                return barabasiAlbert(size, param > 0 ? param : 2);
+            case "grid":
+                return grid(size, param > 0 ? param : size, false);
+            case "torus":
+                return grid(size, param > 0 ? param : size, true);
+            case "fattree":
+                return fatTree(size);
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + type
+                        + " (use bus, ring, star, tree, mesh, random, scalefree, grid, torus or fattree)");
+        }
+    }
+
+    Links bus(int n) {
+        return links(n, Math.max(0, n - 1), (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                src[i] = i;
+                dst[i] = i + 1;
+            }
+        });
+    }
+
+    Links ring(int n) {
+        return links(n, n < 3 ? Math.max(0, n - 1) : n, (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                src[i] = i;
+                dst[i] = (i + 1) % n;
+            }
+        });
+    }
+
+    // Node 0 is the hub
+    Links star(int n) {
+        return links(n, Math.max(0, n - 1), (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                src[i] = 0;
+                dst[i] = i + 1;
+            }
+        });
+    }
+
+    // Complete k-ary tree in breadth-first order: the children of i are k*i+1 .. k*i+k
+    Links tree(int n, int arity) {
+        if (arity < 1) throw new IllegalArgumentException("Tree arity must be positive: " + arity);
+        return links(n, Math.max(0, n - 1), (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                src[i] = i / arity;
+                dst[i] = i + 1;
+            }
+        });
+    }
+
+    // Every pair of nodes linked once; link i is found from its row start u*(2n-u-1)/2
+    Links mesh(int n) {
+        long count = (long) n * (n - 1) / 2;
+        return links(n, count, (from, to, random, src, dst) -> {
+            int u = meshRow(n, from);
+            long rowStart = (long) u * (2L * n - u - 1) / 2;
+            int v = (int) (u + 1 + (from - rowStart));
+            for (int i = from; i < to; i++) {
+                if (v == n) {
+                    u++;
+                    v = u + 1;
+                }
+                src[i] = u;
+                dst[i] = v++;
+            }
+        });
+    }
+
+    private static int meshRow(int n, long link) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if ((long) mid * (2L * n - mid - 1) / 2 <= link) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // m links between uniformly random pairs of distinct nodes; the rare repeats are merged in the CSR
+    Links erdosRenyi(int n, long m) {
+        if (n < 2 && m > 0) throw new IllegalArgumentException("A random graph with links needs two nodes");
+        return links(n, m, (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                int u = random.nextInt(n), v = random.nextInt(n - 1);
+                src[i] = u;
+                dst[i] = v >= u ? v + 1 : v;
+            }
+        });
+    }
+
+    // Preferential attachment: each node after the first links to m earlier nodes picked in
+    // proportion to their degree. Link i is slots 2i (the new node) and 2i+1 (the chosen node).
+    Links barabasiAlbert(int n, int m) {
+        if (m < 1) throw new IllegalArgumentException("Links per node must be positive: " + m);
+        long count = (long) Math.max(0, n - 1) * m;
+        return links(n, count, (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                src[i] = i / m + 1;
+                dst[i] = attachedNode(2L * i + 1, m);
+            }
+        });
+    }
+
+    // Follows copies back until a slot holding a new node; the chain is short on average
+    private int attachedNode(long slot, int m) {
+        while (true) {
+            long link = slot >>> 1;
+            if ((slot & 1) == 0) return (int) (link / m + 1);
+            if (link == 0) return 0;
+            slot = Long.remainderUnsigned(mix(seed ^ (GOLDEN * slot)), 2 * link);
+        }
+    }
+
+    // rows x cols lattice with node r*cols+c; the torus also wraps each row and column around
+    Links grid(int rows, int cols, boolean wrap) {
+        if (rows < 1 || cols < 1) throw new IllegalArgumentException("Grid needs positive rows and columns");
+        long n = (long) rows * cols;
+        if (n > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many nodes: " + n);
+        // Link 2k goes right from node k and link 2k+1 goes down; missing ones become self loops and are dropped
+        return links((int) n, 2 * n, (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                int k = i >>> 1, r = k / cols, c = k % cols;
+                src[i] = k;
+                if ((i & 1) == 0) {
+                    dst[i] = c + 1 < cols ? k + 1 : wrap ? k - c : k;
+                } else {
+                    dst[i] = r + 1 < rows ? k + cols : wrap ? c : k;
+                }
+            }
+        });
+    }
+
+    // Three-tier k-ary fat-tree (Al-Fares et al.) for even k: (k/2)^2 core switches, then k pods
+    // of k/2 aggregation and k/2 edge switches, then k^3/4 hosts, numbered in that order.
+    // Aggregation switch j of every pod links to cores j*k/2 .. j*k/2+k/2-1.
+    Links fatTree(int k) {
+        if (k < 2 || (k & 1) != 0) throw new IllegalArgumentException("Fat-tree port count must be even: " + k);
+        int h = k / 2;
+        long cores = (long) h * h, aggs = (long) k * h, edges = (long) k * h, hosts = (long) k * k * k / 4;
+        long n = cores + aggs + edges + hosts;
+        if (n > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many nodes: " + n);
+        int aggBase = (int) cores, edgeBase = (int) (cores + aggs), hostBase = (int) (cores + aggs + edges);
+        // Each tier contributes k^3/4 links: aggregation-core, then edge-aggregation, then host-edge
+        long tier = hosts;
+        return links((int) n, 3 * tier, (from, to, random, src, dst) -> {
+            for (int i = from; i < to; i++) {
+                int t = (int) (i / tier), j = (int) (i % tier);
+                int switchIndex = j / h, port = j % h;
+                if (t == 0) {
+                    src[i] = aggBase + switchIndex;
+                    dst[i] = (switchIndex % h) * h + port;
+                } else if (t == 1) {
+                    src[i] = edgeBase + switchIndex;
+                    dst[i] = aggBase + (switchIndex / h) * h + port;
+                } else {
+                    src[i] = hostBase + j;
+                    dst[i] = edgeBase + switchIndex;
+                }
+            }
+        });
+    }
+
+    private Links links(int n, long count, BlockFiller filler) {
+        if (n < 0) throw new IllegalArgumentException("Node count must not be negative: " + n);
+        // Both directions of every link must fit the int CSR offsets
+        if (count > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Too many links: " + count);
+        int m = (int) count;
+        int[] src = new int[m], dst = new int[m], weight = new int[m];
+        int blocks = (m + BLOCK - 1) / BLOCK;
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK, to = Math.min(m, from + BLOCK);
+            SplittableRandom random = new SplittableRandom(mix(seed + GOLDEN * (b + 1)));
+            filler.fill(from, to, random, src, dst);
+            for (int i = from; i < to; i++) weight[i] = weights.sample(random);
+        })).join();
+        return new Links(n, src, dst, weight, pool);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,232 @@
+package mini_proj_dsa;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.zip.CRC32C;
+
+// Versioned binary snapshot of a CsrGraph, written once and opened with FileChannel.map.
+// Layout (little endian, every section 8-byte aligned):
+//   header   magic, version, flags, node count, link count, arc count, name bytes, checksum
+//   names    int[n + 1] byte offsets into a UTF-8 blob, then the blob
+//   offsets  int[n + 1]
+//   targets  int[arcs]
+//   weights  int[arcs]
+//   layout   float[n] x, float[n] y (only when FLAG_LAYOUT is set)
+// The checksum is a CRC32C over everything after the header. Opening copies the CSR sections
+// straight out of the mapping with bulk gets (no parsing); layout coordinates stay mapped.
+final class TopologySnapshot {
+    private static final int MAGIC = 0x50414E53; // "SNAP"
+    private static final int VERSION = 1;
+    private static final int FLAG_LAYOUT = 1;
+    private static final int HEADER_BYTES = 64;
+
+    private final CsrGraph graph;
+    private final FloatBuffer layoutX, layoutY;
+
+    private TopologySnapshot(CsrGraph graph, FloatBuffer layoutX, FloatBuffer layoutY) {
+        this.graph = graph;
+        this.layoutX = layoutX;
+        this.layoutY = layoutY;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public boolean hasLayout() {
+        return layoutX != null;
+    }
+
+    public float x(int node) {
+        return layoutX.get(node);
+    }
+
+    public float y(int node) {
+        return layoutY.get(node);
+    }
+
+    public static void write(Path file, CsrGraph graph) throws IOException {
+        write(file, graph, null, null);
+    }
+
+    // Writes the graph and, when x and y are given, one layout position per node
+    public static void write(Path file, CsrGraph graph, float[] x, float[] y) throws IOException {
+        int n = graph.nodeCount();
+        boolean layout = x != null && y != null;
+        if (layout && (x.length != n || y.length != n)) {
+            throw new IllegalArgumentException("Layout arrays must have one entry per node.");
+        }
+        byte[][] encoded = new byte[n][];
+        long nameBytes = 0;
+        for (int i = 0; i < n; i++) {
+            encoded[i] = graph.nameOf(i).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[i].length;
+        }
+        if (nameBytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Node names are too large for a snapshot.");
+        Sections s = new Sections(n, graph.arcCount(), nameBytes, layout);
+
+        // Built in a temporary file next to the target and moved over it once it is on disk, so
+        // a failed write leaves the previous snapshot intact (and the input of a command that
+        // writes back to the file it read)
+        Path target = file.toAbsolutePath();
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(tmp.toFile(), "rw");
+                 FileChannel channel = raf.getChannel()) {
+                raf.setLength(s.end);
+                MappedByteBuffer nameOffsets = map(channel, FileChannel.MapMode.READ_WRITE, s.nameOffsets, 4L * (n + 1));
+                MappedByteBuffer blob = map(channel, FileChannel.MapMode.READ_WRITE, s.nameBlob, nameBytes);
+                int pos = 0;
+                for (int i = 0; i < n; i++) {
+                    nameOffsets.putInt(pos);
+                    blob.put(encoded[i]);
+                    pos += encoded[i].length;
+                }
+                nameOffsets.putInt(pos);
+                nameOffsets.force();
+                blob.force();
+                writeInts(channel, s.offsets, graph.offsets());
+                writeInts(channel, s.targets, graph.targets());
+                writeInts(channel, s.weights, graph.weights());
+                if (layout) {
+                    writeFloats(channel, s.layoutX, x);
+                    writeFloats(channel, s.layoutY, y);
+                }
+                MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(layout ? FLAG_LAYOUT : 0).putInt(n)
+                        .putInt(graph.edgeCount()).putInt(s.arcs).putLong(nameBytes)
+                        .putLong(checksum(channel, s.end));
+                header.force();
+                channel.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, long position, int[] values) throws IOException {
+        MappedByteBuffer section = map(channel, FileChannel.MapMode.READ_WRITE, position, 4L * values.length);
+        section.asIntBuffer().put(values);
+        section.force();
+    }
+
+    private static void writeFloats(FileChannel channel, long position, float[] values) throws IOException {
+        MappedByteBuffer section = map(channel, FileChannel.MapMode.READ_WRITE, position, 4L * values.length);
+        section.asFloatBuffer().put(values);
+        section.force();
+    }
+
+    public static TopologySnapshot open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    // verify = false skips the checksum pass for trusted files
+    public static TopologySnapshot open(Path file, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException("Not a topology snapshot: " + file);
+            ByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) throw new IOException("Not a topology snapshot: " + file);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            int flags = header.getInt();
+            int n = header.getInt();
+            int edgeCount = header.getInt();
+            int arcs = header.getInt();
+            long nameBytes = header.getLong();
+            long expected = header.getLong();
+            Sections s = new Sections(n, arcs, nameBytes, (flags & FLAG_LAYOUT) != 0);
+            if (n < 0 || arcs < 0 || nameBytes < 0 || channel.size() != s.end) {
+                throw new IOException("Truncated or corrupt snapshot: " + file);
+            }
+            if (verify && checksum(channel, s.end) != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+
+            int[] nameOffsets = new int[n + 1];
+            map(channel, FileChannel.MapMode.READ_ONLY, s.nameOffsets, 4L * (n + 1)).asIntBuffer().get(nameOffsets);
+            byte[] blob = new byte[(int) nameBytes];
+            map(channel, FileChannel.MapMode.READ_ONLY, s.nameBlob, nameBytes).get(blob);
+            String[] names = new String[n];
+            for (int i = 0; i < n; i++) {
+                names[i] = new String(blob, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i], StandardCharsets.UTF_8);
+            }
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[arcs];
+            int[] weights = new int[arcs];
+            map(channel, FileChannel.MapMode.READ_ONLY, s.offsets, 4L * (n + 1)).asIntBuffer().get(offsets);
+            map(channel, FileChannel.MapMode.READ_ONLY, s.targets, 4L * arcs).asIntBuffer().get(targets);
+            map(channel, FileChannel.MapMode.READ_ONLY, s.weights, 4L * arcs).asIntBuffer().get(weights);
+            if (offsets[n] != arcs) throw new IOException("Truncated or corrupt snapshot: " + file);
+            // The name index is built on the first idOf call, so opening stays proportional to a copy
+            CsrGraph graph = new CsrGraph(names, null, offsets, targets, weights, edgeCount);
+
+            FloatBuffer x = null, y = null;
+            if (s.layout) {
+                // Mappings stay valid after the channel is closed
+                x = map(channel, FileChannel.MapMode.READ_ONLY, s.layoutX, 4L * n).asFloatBuffer();
+                y = map(channel, FileChannel.MapMode.READ_ONLY, s.layoutY, 4L * n).asFloatBuffer();
+            }
+            return new TopologySnapshot(graph, x, y);
+        }
+    }
+
+    // True if the file starts with the snapshot magic number
+    public static boolean isSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    // CRC32C of the body, mapped in windows so files over 2GB are covered
+    private static long checksum(FileChannel channel, long end) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long pos = HEADER_BYTES; pos < end; ) {
+            long size = Math.min(1L << 30, end - pos);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, size));
+            pos += size;
+        }
+        return crc.getValue();
+    }
+
+    // Byte positions of the sections for a given node count, arc count and name size
+    private static final class Sections {
+        final int arcs;
+        final boolean layout;
+        final long nameOffsets, nameBlob, offsets, targets, weights, layoutX, layoutY, end;
+
+        Sections(int n, int arcs, long nameBytes, boolean layout) {
+            this.arcs = arcs;
+            this.layout = layout;
+            nameOffsets = HEADER_BYTES;
+            nameBlob = align(nameOffsets + 4L * (n + 1));
+            offsets = align(nameBlob + nameBytes);
+            targets = align(offsets + 4L * (n + 1));
+            weights = align(targets + 4L * arcs);
+            long afterWeights = align(weights + 4L * arcs);
+            layoutX = afterWeights;
+            layoutY = align(layoutX + 4L * n);
+            end = layout ? align(layoutY + 4L * n) : afterWeights;
+        }
+
+        private static long align(long position) {
+            return (position + 7) & ~7L;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package mini_proj_dsa;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+// Versioned link state over a shared CsrGraph, for many reader threads and one update feed.
+// Every published Snapshot is immutable: link weights, link up/down and node up/down are kept
+// in pages of PAGE arcs or nodes, and an update copies only the pages it writes plus the small
+// page tables, so untouched pages are shared by all versions (a null page means "as in the
+// graph" or "all up"). Readers take the current snapshot from a volatile field without locking
+// and keep a consistent view for as long as they hold it; writers are serialized and publish
+// each new version with a single volatile write. Structural changes (nodes and links added or
+// removed, e.g. through TopologyBatch) replace the graph and start from an all-up state.
+final class TopologyStore {
+    static final int PAGE_BITS = 10;
+    static final int PAGE = 1 << PAGE_BITS;
+    private static final int MASK = PAGE - 1;
+
+    // One consistent version of the topology; safe to share between threads
+    static final class Snapshot {
+        private final long version;
+        private final CsrGraph graph;
+        private final int[] baseWeights;
+        private final int[][] weightPages;  // per arc, null page: the graph's weights
+        private final long[][] arcDown;     // per arc bitset, null page: all up
+        private final long[][] nodeDown;    // per node bitset, null page: all up
+        private final int downNodes;
+        private final ThreadLocal<ShortestPathRouter> routers; // shared by the versions of one graph
+        private volatile CsrGraph view; // the links that are up, built on first use
+
+        private Snapshot(long version, CsrGraph graph, int[][] weightPages, long[][] arcDown, long[][] nodeDown,
+                         int downNodes, ThreadLocal<ShortestPathRouter> routers) {
+            this.version = version;
+            this.graph = graph;
+            this.baseWeights = graph.weights();
+            this.weightPages = weightPages;
+            this.arcDown = arcDown;
+            this.nodeDown = nodeDown;
+            this.downNodes = downNodes;
+            this.routers = routers;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public CsrGraph graph() {
+            return graph;
+        }
+
+        public int weight(int arc) {
+            int[] page = weightPages[arc >>> PAGE_BITS];
+            return page == null ? baseWeights[arc] : page[arc & MASK];
+        }
+
+        public boolean isArcUp(int arc) {
+            return !isSet(arcDown, arc);
+        }
+
+        public boolean isNodeUp(int u) {
+            return !isSet(nodeDown, u);
+        }
+
+        public int activeNodeCount() {
+            return graph.nodeCount() - downNodes;
+        }
+
+        // Weight of the arc for routing, or -1 when the link or its target is down; only for
+        // the router, which rejects graphs with negative weights
+        int routeWeight(int arc, int target) {
+            if (isSet(arcDown, arc) || isSet(nodeDown, target)) return -1;
+            return weight(arc);
+        }
+
+        // Number of nodes reachable from the start over links and nodes that are up, the start included
+        public int reachableCount(int start) {
+            if (!isNodeUp(start)) return 0;
+            int[] offsets = graph.offsets(), targets = graph.targets();
+            long[] seen = new long[(graph.nodeCount() + 63) >>> 6];
+            int[] queue = new int[activeNodeCount()];
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            seen[start >>> 6] |= 1L << start;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if ((seen[v >>> 6] & (1L << v)) != 0 || isSet(arcDown, e) || isSet(nodeDown, v)) continue;
+                    seen[v >>> 6] |= 1L << v;
+                    queue[tail++] = v;
+                }
+            }
+            return tail;
+        }
+
+        // Percentage of the nodes that are up which the start reaches, as NetTopo_F reports it
+        public double reachability(String start) {
+            int s = graph.idOf(start);
+            if (s < 0) throw new IllegalArgumentException("Unknown node: " + start);
+            int active = activeNodeCount();
+            return active > 0 ? reachableCount(s) / (double) active * 100 : 0.0;
+        }
+
+        // The graph as this version sees it, for analyses that take a CsrGraph: links and nodes that
+        // are down are left out (a down node stays as an isolated node, so ids do not change) and
+        // links carry this version's weights. The unchanged first version returns the graph itself.
+        public CsrGraph toCsrGraph() {
+            CsrGraph built = view;
+            if (built != null) return built;
+            if (version == 0 || isPristine()) {
+                built = graph;
+            } else {
+                int n = graph.nodeCount();
+                int[] offsets = graph.offsets(), targets = graph.targets();
+                int[] keptOffsets = new int[n + 1];
+                int[] keptTargets = new int[graph.arcCount()], keptWeights = new int[graph.arcCount()];
+                int arcs = 0, loops = 0;
+                for (int u = 0; u < n; u++) {
+                    if (isNodeUp(u)) {
+                        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                            if (!isArcUp(e) || !isNodeUp(targets[e])) continue;
+                            if (targets[e] == u) loops++;
+                            keptTargets[arcs] = targets[e];
+                            keptWeights[arcs++] = weight(e);
+                        }
+                    }
+                    keptOffsets[u + 1] = arcs;
+                }
+                built = new CsrGraph(graph.nodeNames(), null, keptOffsets, Arrays.copyOf(keptTargets, arcs),
+                        Arrays.copyOf(keptWeights, arcs), (arcs - loops) / 2 + loops);
+            }
+            view = built;
+            return built;
+        }
+
+        private boolean isPristine() {
+            if (downNodes > 0) return false;
+            for (int p = 0; p < arcDown.length; p++) {
+                if (arcDown[p] != null || weightPages[p] != null) return false;
+            }
+            return true;
+        }
+
+        // Cheapest route over the links and nodes that are up, with this version's weights.
+        // Each thread reuses one router per graph.
+        public ShortestPathRouter.Route route(String from, String to) {
+            return routers.get().on(this).route(from, to);
+        }
+
+        private static boolean isSet(long[][] pages, int i) {
+            long[] page = pages[i >>> PAGE_BITS];
+            return page != null && (page[(i & MASK) >>> 6] & (1L << i)) != 0;
+        }
+    }
+
+    // Changes collected for one new version; pages are copied the first time they are written
+    static final class Update {
+        private final Snapshot from;
+        private int[][] weightPages;
+        private long[][] arcDown, nodeDown;
+        private final BitSet ownWeight = new BitSet(), ownArc = new BitSet(), ownNode = new BitSet();
+        private int downNodes;
+        private boolean changed;
+
+        private Update(Snapshot from) {
+            this.from = from;
+            this.weightPages = from.weightPages;
+            this.arcDown = from.arcDown;
+            this.nodeDown = from.nodeDown;
+            this.downNodes = from.downNodes;
+        }
+
+        public Update setLinkUp(String node1, String node2, boolean up) {
+            int u = node(node1), v = node(node2);
+            int arc = arc(u, v);
+            setArc(arc, up);
+            if (u != v) setArc(from.graph.arcOf(v, u), up);
+            return this;
+        }
+
+        public Update setLinkWeight(String node1, String node2, int weight) {
+            if (weight < 0) throw new IllegalArgumentException("Link weights must not be negative: " + weight);
+            int u = node(node1), v = node(node2);
+            int arc = arc(u, v);
+            setWeight(arc, weight);
+            if (u != v) setWeight(from.graph.arcOf(v, u), weight);
+            return this;
+        }
+
+        public Update setNodeUp(String name, boolean up) {
+            int u = node(name);
+            if (Snapshot.isSet(nodeDown, u) == !up) return this;
+            nodePage(u)[(u & MASK) >>> 6] ^= 1L << u;
+            downNodes += up ? -1 : 1;
+            changed = true;
+            return this;
+        }
+
+        private int node(String name) {
+            int u = from.graph.idOf(name);
+            if (u < 0) throw new IllegalArgumentException("Unknown node: " + name);
+            return u;
+        }
+
+        private int arc(int u, int v) {
+            int arc = from.graph.arcOf(u, v);
+            if (arc < 0) {
+                throw new IllegalArgumentException("No link between " + from.graph.nameOf(u) + " and " + from.graph.nameOf(v));
+            }
+            return arc;
+        }
+
+        private void setArc(int arc, boolean up) {
+            if (Snapshot.isSet(arcDown, arc) == !up) return;
+            int p = arc >>> PAGE_BITS;
+            if (!ownArc.get(p)) {
+                if (arcDown == from.arcDown) arcDown = arcDown.clone();
+                arcDown[p] = arcDown[p] == null ? new long[PAGE >>> 6] : arcDown[p].clone();
+                ownArc.set(p);
+            }
+            arcDown[p][(arc & MASK) >>> 6] ^= 1L << arc;
+            changed = true;
+        }
+
+        private void setWeight(int arc, int weight) {
+            int p = arc >>> PAGE_BITS;
+            if (!ownWeight.get(p)) {
+                if (weightPages[p] == null ? from.baseWeights[arc] == weight : weightPages[p][arc & MASK] == weight) return;
+                if (weightPages == from.weightPages) weightPages = weightPages.clone();
+                int[] page = weightPages[p];
+                if (page == null) {
+                    int start = p << PAGE_BITS;
+                    page = new int[PAGE];
+                    System.arraycopy(from.baseWeights, start, page, 0, Math.min(PAGE, from.baseWeights.length - start));
+                } else {
+                    page = page.clone();
+                }
+                weightPages[p] = page;
+                ownWeight.set(p);
+            }
+            weightPages[p][arc & MASK] = weight;
+            changed = true;
+        }
+
+        private long[] nodePage(int u) {
+            int p = u >>> PAGE_BITS;
+            if (!ownNode.get(p)) {
+                if (nodeDown == from.nodeDown) nodeDown = nodeDown.clone();
+                nodeDown[p] = nodeDown[p] == null ? new long[PAGE >>> 6] : nodeDown[p].clone();
+                ownNode.set(p);
+            }
+            return nodeDown[p];
+        }
+    }
+
+    private volatile Snapshot current;
+
+    TopologyStore(CsrGraph graph) {
+        current = fresh(0, graph);
+    }
+
+    // The latest version; never blocks
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    // Applies the changes as one new version and publishes it; a version without changes is not published
+    public synchronized Snapshot update(Consumer<Update> changes) {
+        Snapshot base = current;
+        Update update = new Update(base);
+        changes.accept(update);
+        if (!update.changed) return base;
+        current = new Snapshot(base.version + 1, base.graph, update.weightPages, update.arcDown, update.nodeDown,
+                update.downNodes, base.routers);
+        return current;
+    }
+
+    public Snapshot setLinkUp(String node1, String node2, boolean up) {
+        return update(u -> u.setLinkUp(node1, node2, up));
+    }
+
+    public Snapshot setLinkWeight(String node1, String node2, int weight) {
+        return update(u -> u.setLinkWeight(node1, node2, weight));
+    }
+
+    public Snapshot setNodeUp(String node, boolean up) {
+        return update(u -> u.setNodeUp(node, up));
+    }
+
+    // Publishes a structurally different graph with every link and node up
+    public synchronized Snapshot replace(CsrGraph graph) {
+        current = fresh(current.version + 1, graph);
+        return current;
+    }
+
+    private static Snapshot fresh(long version, CsrGraph graph) {
+        int arcPages = (graph.arcCount() + MASK) >>> PAGE_BITS;
+        int nodePages = (graph.nodeCount() + MASK) >>> PAGE_BITS;
+        ThreadLocal<ShortestPathRouter> routers = ThreadLocal.withInitial(() -> new ShortestPathRouter(graph));
+        return new Snapshot(version, graph, new int[arcPages][], new long[arcPages][], new long[nodePages][], 0, routers);
+    }
+}
@@ -0,0 +1,98 @@
+package mini_proj_dsa;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Hot paths of the analysis menu options over every synthetic topology at several sizes.
+// Each benchmark calls the same public method the interactive classes call.
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class AnalysisBenchmark {
+    @Param({"bus", "ring", "star", "tree", "mesh", "random"})
+    public String topology;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private SyntheticTopology links;
+    private Network network;
+    private Node source, destination;
+    private FaultToleranceCalculator faultCalculator;
+    private NetTopo_F netTopo;
+    private String start, end, failed;
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        links = SyntheticTopology.generate(topology, size, 42);
+        network = links.toNetwork();
+        List<Node> nodes = network.nodes;
+        source = nodes.get(0);
+        destination = nodes.get(size / 2);
+        // One shared graph behind the fault and path analyses, as when a topology file is loaded
+        graph = links.toCsrGraph();
+        faultCalculator = new FaultToleranceCalculator(graph);
+        netTopo = new NetTopo_F(graph);
+        start = SyntheticTopology.nameOf(0);
+        end = SyntheticTopology.nameOf(size / 2);
+        failed = SyntheticTopology.nameOf(size / 4);
+    }
+
+    // Performance_Analysis: hop count between two nodes
+    @Benchmark
+    public int bfsTransmissionTime() {
+        return network.bfsTransmissionTime(source, destination);
+    }
+
+    // Fault_Tolerance: share of nodes whose failure keeps the network connected, in the
+    // articulation point mode the menu uses (the matrix-rescan method is in FaultToleranceBenchmark)
+    @Benchmark
+    public double analyzeFaultTolerance() {
+        return faultCalculator.analyzeFaultTolerance().getFaultTolerance();
+    }
+
+    // MSTNetworkGUI.findMinimumSpanningTree without the JFrame: the MSTNetworkGUI constructor
+    // needs a display, so this runs the engine it delegates to over the same link arrays
+    @Benchmark
+    public int[] findMinimumSpanningTree() {
+        return new ParallelMstEngine(links.nodeCount, links.src, links.dst, links.weight).run();
+    }
+
+    // Broadcast tree from node 0 with the density-chosen algorithm
+    @Benchmark
+    public long findBroadcastTree() {
+        return BroadcastTreeBuilder.build(graph, 0).getTotalCost();
+    }
+
+    // Flooding broadcast from node 0 over every link
+    @Benchmark
+    public long floodBroadcast() {
+        return BroadcastSimulator.flood(graph, 0).getTotalMessages();
+    }
+
+    // Disabled_Visual: reachability with no failures
+    @Benchmark
+    public double calculateReachability() {
+        return netTopo.calculateReachability(start);
+    }
+
+    // Disabled_Visual: one node failure and recovery around a reachability query
+    @Benchmark
+    public double calculateReachabilityAfterFailure() {
+        netTopo.disableNode(failed);
+        double reachability = netTopo.calculateReachability(start);
+        netTopo.enableNode(failed);
+        return reachability;
+    }
+
+    // Disabled_Visual: redundant paths between two nodes (replaced the findPathsDFS enumeration)
+    @Benchmark
+    public int calculatePathRedundancy() {
+        return netTopo.calculatePathRedundancy(start, end);
+    }
+}
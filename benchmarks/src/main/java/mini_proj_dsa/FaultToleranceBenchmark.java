@@ -0,0 +1,32 @@
+package mini_proj_dsa;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// FaultToleranceCalculator.calculateFaultTolerance searches the network again for every node
+// failure, which is quadratic in the node count, so it runs at smaller sizes than AnalysisBenchmark
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Xss16m", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class FaultToleranceBenchmark {
+    @Param({"bus", "ring", "star", "tree", "mesh", "random"})
+    public String topology;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private FaultToleranceCalculator faultCalculator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        faultCalculator = SyntheticTopology.generate(topology, size, 42).toFaultToleranceCalculator();
+    }
+
+    @Benchmark
+    public double calculateFaultTolerance() {
+        return faultCalculator.calculateFaultTolerance();
+    }
+}
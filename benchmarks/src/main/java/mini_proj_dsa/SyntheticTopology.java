@@ -0,0 +1,106 @@
+package mini_proj_dsa;
+
+import java.util.*;
+
+// Seeded synthetic topologies for the benchmarks, as plain link arrays over nodes 0..n-1.
+// Mesh is a partial mesh (every node linked to its MESH_REACH nearest ring neighbors on each
+// side) so that large sizes stay within a benchmark heap; random has about 2n links.
+final class SyntheticTopology {
+    static final int MESH_REACH = 8;
+
+    final int nodeCount;
+    final int[] src, dst, weight;
+
+    private SyntheticTopology(int nodeCount, int[] src, int[] dst, int[] weight) {
+        this.nodeCount = nodeCount;
+        this.src = src;
+        this.dst = dst;
+        this.weight = weight;
+    }
+
+    int linkCount() {
+        return src.length;
+    }
+
+    static String nameOf(int node) {
+        return "N" + node;
+    }
+
+    static SyntheticTopology generate(String type, int n, long seed) {
+        Random random = new Random(seed);
+        int[][] links;
+        switch (type) {
+            case "bus":
+                links = new int[Math.max(0, n - 1)][];
+                for (int i = 1; i < n; i++) links[i - 1] = new int[]{i - 1, i};
+                break;
+            case "ring":
+                links = new int[n < 3 ? Math.max(0, n - 1) : n][];
+                for (int i = 0; i < links.length; i++) links[i] = new int[]{i, (i + 1) % n};
+                break;
+            case "star":
+                links = new int[Math.max(0, n - 1)][];
+                for (int i = 1; i < n; i++) links[i - 1] = new int[]{0, i};
+                break;
+            case "tree":
+                // Same shape as NetworkTopology.buildTree: children of i at 2i+1 and 2i+2
+                links = new int[Math.max(0, n - 1)][];
+                for (int i = 1; i < n; i++) links[i - 1] = new int[]{(i - 1) / 2, i};
+                break;
+            case "mesh": {
+                int reach = Math.min(MESH_REACH, (n - 1) / 2);
+                List<int[]> list = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    for (int d = 1; d <= reach; d++) list.add(new int[]{i, (i + d) % n});
+                }
+                links = list.toArray(new int[0][]);
+                break;
+            }
+            case "random": {
+                Set<Long> seen = new HashSet<>();
+                List<int[]> list = new ArrayList<>();
+                long target = Math.min(2L * n, (long) n * (n - 1) / 2);
+                while (list.size() < target) {
+                    int u = random.nextInt(n), v = random.nextInt(n);
+                    if (u == v) continue;
+                    long key = u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+                    if (seen.add(key)) list.add(new int[]{u, v});
+                }
+                links = list.toArray(new int[0][]);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + type);
+        }
+        int[] src = new int[links.length], dst = new int[links.length], weight = new int[links.length];
+        for (int i = 0; i < links.length; i++) {
+            src[i] = links[i][0];
+            dst[i] = links[i][1];
+            weight[i] = 1 + random.nextInt(100);
+        }
+        return new SyntheticTopology(n, src, dst, weight);
+    }
+
+    Network toNetwork() {
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) nodes.add(new Node(nameOf(i)));
+        for (int i = 0; i < src.length; i++) {
+            nodes.get(src[i]).addNeighbor(nodes.get(dst[i]));
+            nodes.get(dst[i]).addNeighbor(nodes.get(src[i]));
+        }
+        return new Network(nodes);
+    }
+
+    FaultToleranceCalculator toFaultToleranceCalculator() {
+        FaultToleranceCalculator calculator = new FaultToleranceCalculator(nodeCount);
+        for (int i = 0; i < src.length; i++) calculator.addLink(src[i], dst[i]);
+        return calculator;
+    }
+
+    CsrGraph toCsrGraph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, src.length);
+        for (int i = 0; i < nodeCount; i++) builder.addNode(nameOf(i));
+        for (int i = 0; i < src.length; i++) builder.addEdge(src[i], dst[i], weight[i]);
+        return builder.build();
+    }
+}
@@ -0,0 +1,42 @@
+package mini_proj_dsa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+// Freezing generated links with Links.toCsrGraph must give the graph CsrGraph.Builder builds from
+// the same links (self loops left out), including the weight a repeated link keeps.
+class TopologyGeneratorTest {
+
+    @Test
+    void toCsrGraphMatchesBuilderForEveryTopology() {
+        String[][] specs = {
+            {"bus", "200", "0"}, {"ring", "200", "0"}, {"star", "200", "0"}, {"tree", "200", "3"},
+            {"mesh", "40", "0"}, {"random", "50", "80"}, {"random", "5000", "8"}, {"scalefree", "2000", "3"},
+            {"grid", "20", "30"}, {"torus", "2", "3"}, {"torus", "20", "30"}, {"fattree", "6", "0"},
+        };
+        for (String[] spec : specs) {
+            TopologyGenerator.Links links = new TopologyGenerator(7).weights(TopologyGenerator.Weights.uniform(1, 1000))
+                    .generate(spec[0], Integer.parseInt(spec[1]), Integer.parseInt(spec[2]));
+            CsrGraph.Builder builder = new CsrGraph.Builder(links.nodeCount, links.linkCount());
+            for (int u = 0; u < links.nodeCount; u++) builder.addNode(TopologyGenerator.Links.nameOf(u));
+            for (int i = 0; i < links.linkCount(); i++) {
+                if (links.src[i] != links.dst[i]) builder.addEdge(links.src[i], links.dst[i], links.weight[i]);
+            }
+            CsrGraph expected = builder.build(), actual = links.toCsrGraph();
+            String topology = String.join(" ", spec);
+            assertEquals(expected.edgeCount(), actual.edgeCount(), topology);
+            assertArrayEquals(expected.offsets(), actual.offsets(), topology);
+            assertArrayEquals(expected.targets(), actual.targets(), topology);
+            assertArrayEquals(expected.weights(), actual.weights(), topology);
+        }
+    }
+
+    @Test
+    void weightSpecsMustBePositive() {
+        for (String spec : new String[] {"constant:0", "constant:-3", "uniform:-5:10", "uniform:0:4", "normal:0:2", "normal:5:-1", "exponential:0"}) {
+            assertThrows(IllegalArgumentException.class, () -> TopologyGenerator.Weights.parse(spec), spec);
+        }
+        assertEquals(4, TopologyGenerator.Weights.parse("constant:4").sample(new java.util.SplittableRandom(1)));
+    }
+}